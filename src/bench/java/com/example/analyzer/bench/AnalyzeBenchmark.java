@@ -0,0 +1,39 @@
+package com.example.analyzer.bench;
+
+import com.example.analyzer.core.CallChainEngine;
+import com.example.analyzer.model.AnalysisResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end CallChainEngine.analyze over a corpus: scanning, both analysis passes,
+ * Dubbo registry and chain building
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyzeBenchmark {
+
+    @Param({"test-project-complex", "synthetic:services=8,classes=50,methods=10"})
+    public String corpus;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private List<String> servicePaths;
+
+    @Setup
+    public void setup() {
+        servicePaths = BenchmarkCorpus.servicePaths(corpus);
+    }
+
+    @Benchmark
+    public AnalysisResult analyze() {
+        return new CallChainEngine(threads).analyze(servicePaths);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.analyzer.bench;
+
+import ch.qos.logback.classic.Level;
+import com.example.analyzer.core.CallChainEngine;
+import com.example.analyzer.core.ProjectScanner;
+import com.example.analyzer.model.AnalysisResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Resolves the input corpus of a benchmark. A corpus is a directory containing services,
+ * e.g. test-project-complex, discovered the same way as --services-dir --recursive.
+ * A corpus of the form "synthetic:services=10,classes=100,methods=20" is produced by
+ * {@link CorpusGenerator} under target/bench-corpus on first use and reused afterwards.
+ */
+final class BenchmarkCorpus {
+    private static final String SYNTHETIC_PREFIX = "synthetic:";
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Discover the service directories of a corpus
+     */
+    static List<String> servicePaths(String corpus) {
+        quietLogging();
+        String corpusDir = corpus.startsWith(SYNTHETIC_PREFIX) ? generate(corpus) : corpus;
+        List<String> servicePaths = new ProjectScanner().discoverServiceDirs(corpusDir, true);
+        if (servicePaths.isEmpty()) {
+            throw new IllegalArgumentException("No services found in corpus: " + corpus);
+        }
+        return servicePaths;
+    }
+
+    /**
+     * Analyze a corpus once, as input for benchmarks of later phases
+     */
+    static AnalysisResult analyze(String corpus) {
+        return new CallChainEngine(0).analyze(servicePaths(corpus));
+    }
+
+    /**
+     * Generate a synthetic corpus unless it already exists on disk
+     */
+    private static String generate(String corpus) {
+        String spec = corpus.substring(SYNTHETIC_PREFIX.length());
+        Path dir = Paths.get("target", "bench-corpus", spec.replaceAll("[^A-Za-z0-9.=-]", "_"));
+        if (!Files.isDirectory(dir)) {
+            CorpusGenerator generator = new CorpusGenerator();
+            generator.applySpec(spec);
+            Path tmp = dir.resolveSibling(dir.getFileName() + ".tmp");
+            try {
+                generator.generate(tmp);
+                Files.move(tmp, dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to generate corpus: " + corpus, e);
+            }
+        }
+        return dir.toString();
+    }
+
+    /**
+     * Keep per-file analyzer logging out of the measurements
+     */
+    static void quietLogging() {
+        Logger root = LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (root instanceof ch.qos.logback.classic.Logger) {
+            ((ch.qos.logback.classic.Logger) root).setLevel(Level.WARN);
+        }
+    }
+}
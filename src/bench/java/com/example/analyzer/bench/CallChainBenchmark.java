@@ -0,0 +1,37 @@
+package com.example.analyzer.bench;
+
+import com.example.analyzer.core.CallChainEngine;
+import com.example.analyzer.model.AnalysisResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chain building on an already resolved result, including the Dubbo registry rebuild
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallChainBenchmark {
+
+    @Param({"test-project-complex", "synthetic:services=8,classes=50,methods=10"})
+    public String corpus;
+
+    private AnalysisResult result;
+    private CallChainEngine engine;
+
+    @Setup
+    public void setup() {
+        result = BenchmarkCorpus.analyze(corpus);
+        engine = new CallChainEngine();
+    }
+
+    @Benchmark
+    public int buildCallChains() {
+        engine.rebuildCallChains(result);
+        return result.getCallChains().size();
+    }
+}
@@ -0,0 +1,450 @@
+package com.example.analyzer.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic Spring Boot + Dubbo microservice corpus to disk for scale testing.
+ *
+ * Each service gets a pom.xml and four layers of classes:
+ * - controller: @RestController with @GetMapping endpoints calling services
+ * - facade: Dubbo API interfaces, implemented by @DubboService ...Impl classes in facade.impl
+ * - service: @Service classes calling other services, repositories and remote facades
+ *   through @DubboReference fields
+ * - repository: @Repository leaf classes
+ *
+ * Calls between services normally point to higher-indexed classes; the cycle rate adds back
+ * edges, which create recursion clusters. The same seed always produces the same corpus.
+ */
+public class CorpusGenerator {
+    private static final String GROUP_ID = "com.example.gen";
+
+    private int services = 4;
+    private int classesPerService = 40;
+    private int methodsPerClass = 10;
+    private int fanOut = 3;
+    private double rpcDensity = 0.2;
+    private double cycleRate = 0.05;
+    private long seed = 42L;
+
+    public static void main(String[] args) throws IOException {
+        CorpusGenerator generator = new CorpusGenerator();
+        String output = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--output":
+                case "-o":
+                    output = args[++i];
+                    break;
+                case "--services":
+                    generator.setServices(Integer.parseInt(args[++i]));
+                    break;
+                case "--classes":
+                    generator.setClassesPerService(Integer.parseInt(args[++i]));
+                    break;
+                case "--methods":
+                    generator.setMethodsPerClass(Integer.parseInt(args[++i]));
+                    break;
+                case "--fan-out":
+                    generator.setFanOut(Integer.parseInt(args[++i]));
+                    break;
+                case "--rpc-density":
+                    generator.setRpcDensity(Double.parseDouble(args[++i]));
+                    break;
+                case "--cycle-rate":
+                    generator.setCycleRate(Double.parseDouble(args[++i]));
+                    break;
+                case "--seed":
+                    generator.setSeed(Long.parseLong(args[++i]));
+                    break;
+                default:
+                    System.err.println("Unknown option: " + arg);
+                    printUsage();
+                    System.exit(1);
+            }
+        }
+        if (output == null) {
+            printUsage();
+            System.exit(1);
+        }
+
+        generator.generate(Paths.get(output));
+        System.out.println("Generated " + generator.getServices() + " services, "
+                + generator.getTotalMethods() + " methods in " + output);
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: CorpusGenerator --output <dir> [--services n] [--classes n] [--methods n]");
+        System.out.println("                       [--fan-out n] [--rpc-density p] [--cycle-rate p] [--seed n]");
+    }
+
+    /**
+     * Apply a comma-separated key=value spec, e.g. "services=10,classes=100,methods=20"
+     */
+    public void applySpec(String spec) {
+        for (String part : spec.split(",")) {
+            if (part.trim().isEmpty()) {
+                continue;
+            }
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid corpus spec entry: " + part);
+            }
+            String value = kv[1].trim();
+            switch (kv[0].trim()) {
+                case "services":
+                    setServices(Integer.parseInt(value));
+                    break;
+                case "classes":
+                    setClassesPerService(Integer.parseInt(value));
+                    break;
+                case "methods":
+                    setMethodsPerClass(Integer.parseInt(value));
+                    break;
+                case "fanOut":
+                    setFanOut(Integer.parseInt(value));
+                    break;
+                case "rpcDensity":
+                    setRpcDensity(Double.parseDouble(value));
+                    break;
+                case "cycleRate":
+                    setCycleRate(Double.parseDouble(value));
+                    break;
+                case "seed":
+                    setSeed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown corpus spec key: " + kv[0]);
+            }
+        }
+    }
+
+    /**
+     * Generate the corpus under the given directory, one sub-directory per service
+     */
+    public void generate(Path outputDir) throws IOException {
+        if (classesPerService < 4) {
+            throw new IllegalArgumentException("At least 4 classes per service are required");
+        }
+        Random random = new Random(seed);
+        for (int s = 0; s < services; s++) {
+            generateService(outputDir, s, random);
+        }
+    }
+
+    /**
+     * Number of methods the corpus declares, including facade interface methods
+     */
+    public long getTotalMethods() {
+        return (long) services * (classesPerService + facadeCount()) * methodsPerClass;
+    }
+
+    // ---- Layout ----
+
+    private int controllerCount() {
+        return Math.max(1, classesPerService / 10);
+    }
+
+    private int facadeCount() {
+        return Math.max(1, classesPerService / 10);
+    }
+
+    private int repositoryCount() {
+        return Math.max(1, classesPerService / 5);
+    }
+
+    private int serviceCount() {
+        return classesPerService - controllerCount() - facadeCount() - repositoryCount();
+    }
+
+    private static String servicePackage(int s) {
+        return GROUP_ID + ".svc" + s;
+    }
+
+    private static String prefix(int s) {
+        return "Svc" + s;
+    }
+
+    // ---- Generation ----
+
+    private void generateService(Path outputDir, int s, Random random) throws IOException {
+        Path serviceDir = outputDir.resolve("svc" + s + "-service");
+        Path sourceRoot = serviceDir.resolve(Paths.get("src", "main", "java"))
+                .resolve(servicePackage(s).replace('.', '/'));
+
+        write(serviceDir.resolve("pom.xml"), pom(s));
+
+        String pkg = servicePackage(s);
+        String p = prefix(s);
+        int services = serviceCount();
+        int repositories = repositoryCount();
+
+        for (int c = 0; c < controllerCount(); c++) {
+            List<Dependency> deps = new ArrayList<>();
+            for (int d = 0; d < fanOut; d++) {
+                addDependency(deps, pkg + ".service." + p + "Service" + random.nextInt(services), false);
+            }
+            write(sourceRoot.resolve("controller/" + p + "Controller" + c + ".java"),
+                    controller(s, c, deps, random));
+        }
+
+        for (int f = 0; f < facadeCount(); f++) {
+            write(sourceRoot.resolve("facade/" + p + "Facade" + f + ".java"), facadeInterface(s, f));
+            List<Dependency> deps = new ArrayList<>();
+            for (int d = 0; d < fanOut; d++) {
+                addDependency(deps, pkg + ".service." + p + "Service" + random.nextInt(services), false);
+            }
+            write(sourceRoot.resolve("facade/impl/" + p + "Facade" + f + "Impl.java"),
+                    facadeImpl(s, f, deps, random));
+        }
+
+        for (int v = 0; v < services; v++) {
+            List<Dependency> deps = new ArrayList<>();
+            for (int d = 0; d < fanOut; d++) {
+                double roll = random.nextDouble();
+                if (this.services > 1 && roll < rpcDensity) {
+                    int target = random.nextInt(this.services - 1);
+                    if (target >= s) {
+                        target++;
+                    }
+                    addDependency(deps, servicePackage(target) + ".facade." + prefix(target)
+                            + "Facade" + random.nextInt(facadeCount()), true);
+                } else if (roll < rpcDensity + cycleRate || v == services - 1) {
+                    // Back edge (or any edge for the last service) - may close a cycle
+                    addDependency(deps, pkg + ".service." + p + "Service" + random.nextInt(services), false);
+                } else if (random.nextBoolean()) {
+                    int target = v + 1 + random.nextInt(services - v - 1);
+                    addDependency(deps, pkg + ".service." + p + "Service" + target, false);
+                } else {
+                    addDependency(deps, pkg + ".repository." + p + "Repository" + random.nextInt(repositories), false);
+                }
+            }
+            write(sourceRoot.resolve("service/" + p + "Service" + v + ".java"), service(s, v, deps, random));
+        }
+
+        for (int r = 0; r < repositories; r++) {
+            write(sourceRoot.resolve("repository/" + p + "Repository" + r + ".java"), repository(s, r));
+        }
+    }
+
+    private static void addDependency(List<Dependency> deps, String qualifiedName, boolean rpc) {
+        for (Dependency dep : deps) {
+            if (dep.qualifiedName.equals(qualifiedName)) {
+                return;
+            }
+        }
+        deps.add(new Dependency(qualifiedName, rpc, (rpc ? "rpc" : "dep") + deps.size()));
+    }
+
+    private String pom(int s) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+                + "    <modelVersion>4.0.0</modelVersion>\n"
+                + "    <groupId>" + GROUP_ID + "</groupId>\n"
+                + "    <artifactId>svc" + s + "-service</artifactId>\n"
+                + "    <version>1.0.0</version>\n"
+                + "    <packaging>jar</packaging>\n"
+                + "    <name>Svc" + s + " Service</name>\n"
+                + "</project>\n";
+    }
+
+    private String controller(int s, int c, List<Dependency> deps, Random random) {
+        StringBuilder sb = header(servicePackage(s) + ".controller", deps);
+        sb.append("import org.springframework.web.bind.annotation.*;\n\n");
+        sb.append("@RestController\n");
+        sb.append("@RequestMapping(\"/api/svc").append(s).append("/c").append(c).append("\")\n");
+        sb.append("public class ").append(prefix(s)).append("Controller").append(c).append(" {\n");
+        fields(sb, deps);
+        for (int m = 0; m < methodsPerClass; m++) {
+            sb.append("\n    @GetMapping(\"/m").append(m).append("\")\n");
+            sb.append("    public String m").append(m).append("(@RequestParam String in) {\n");
+            body(sb, deps, random);
+            sb.append("    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String facadeInterface(int s, int f) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(servicePackage(s)).append(".facade;\n\n");
+        sb.append("public interface ").append(prefix(s)).append("Facade").append(f).append(" {\n");
+        for (int m = 0; m < methodsPerClass; m++) {
+            sb.append("    String m").append(m).append("(String in);\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String facadeImpl(int s, int f, List<Dependency> deps, Random random) {
+        StringBuilder sb = header(servicePackage(s) + ".facade.impl", deps);
+        sb.append("import ").append(servicePackage(s)).append(".facade.").append(prefix(s))
+                .append("Facade").append(f).append(";\n");
+        sb.append("import org.apache.dubbo.config.annotation.DubboService;\n\n");
+        sb.append("@DubboService(version = \"1.0.0\")\n");
+        sb.append("public class ").append(prefix(s)).append("Facade").append(f).append("Impl implements ")
+                .append(prefix(s)).append("Facade").append(f).append(" {\n");
+        fields(sb, deps);
+        for (int m = 0; m < methodsPerClass; m++) {
+            sb.append("\n    @Override\n");
+            sb.append("    public String m").append(m).append("(String in) {\n");
+            body(sb, deps, random);
+            sb.append("    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String service(int s, int v, List<Dependency> deps, Random random) {
+        StringBuilder sb = header(servicePackage(s) + ".service", deps);
+        sb.append("import org.springframework.stereotype.Service;\n\n");
+        sb.append("@Service\n");
+        sb.append("public class ").append(prefix(s)).append("Service").append(v).append(" {\n");
+        fields(sb, deps);
+        for (int m = 0; m < methodsPerClass; m++) {
+            sb.append("\n    public String m").append(m).append("(String in) {\n");
+            body(sb, deps, random);
+            sb.append("    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String repository(int s, int r) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(servicePackage(s)).append(".repository;\n\n");
+        sb.append("import org.springframework.stereotype.Repository;\n\n");
+        sb.append("@Repository\n");
+        sb.append("public class ").append(prefix(s)).append("Repository").append(r).append(" {\n");
+        for (int m = 0; m < methodsPerClass; m++) {
+            sb.append("\n    public String m").append(m).append("(String in) {\n");
+            sb.append("        return in + \"-r").append(r).append("m").append(m).append("\";\n");
+            sb.append("    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private StringBuilder header(String pkg, List<Dependency> deps) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(pkg).append(";\n\n");
+        boolean autowired = false;
+        boolean reference = false;
+        for (Dependency dep : deps) {
+            if (!dep.qualifiedName.equals(pkg + "." + dep.simpleName())) {
+                sb.append("import ").append(dep.qualifiedName).append(";\n");
+            }
+            autowired |= !dep.rpc;
+            reference |= dep.rpc;
+        }
+        if (autowired) {
+            sb.append("import org.springframework.beans.factory.annotation.Autowired;\n");
+        }
+        if (reference) {
+            sb.append("import org.apache.dubbo.config.annotation.DubboReference;\n");
+        }
+        return sb;
+    }
+
+    private void fields(StringBuilder sb, List<Dependency> deps) {
+        for (Dependency dep : deps) {
+            sb.append("\n    ").append(dep.rpc ? "@DubboReference(version = \"1.0.0\")" : "@Autowired").append("\n");
+            sb.append("    private ").append(dep.simpleName()).append(" ").append(dep.fieldName).append(";\n");
+        }
+    }
+
+    private void body(StringBuilder sb, List<Dependency> deps, Random random) {
+        sb.append("        String r = in;\n");
+        if (!deps.isEmpty()) {
+            for (int call = 0; call < fanOut; call++) {
+                Dependency dep = deps.get(random.nextInt(deps.size()));
+                sb.append("        r = ").append(dep.fieldName).append(".m")
+                        .append(random.nextInt(methodsPerClass)).append("(r);\n");
+            }
+        }
+        sb.append("        return r;\n");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Getters and Setters
+    public int getServices() {
+        return services;
+    }
+
+    public void setServices(int services) {
+        this.services = services;
+    }
+
+    public int getClassesPerService() {
+        return classesPerService;
+    }
+
+    public void setClassesPerService(int classesPerService) {
+        this.classesPerService = classesPerService;
+    }
+
+    public int getMethodsPerClass() {
+        return methodsPerClass;
+    }
+
+    public void setMethodsPerClass(int methodsPerClass) {
+        this.methodsPerClass = methodsPerClass;
+    }
+
+    public int getFanOut() {
+        return fanOut;
+    }
+
+    public void setFanOut(int fanOut) {
+        this.fanOut = fanOut;
+    }
+
+    public double getRpcDensity() {
+        return rpcDensity;
+    }
+
+    public void setRpcDensity(double rpcDensity) {
+        this.rpcDensity = rpcDensity;
+    }
+
+    public double getCycleRate() {
+        return cycleRate;
+    }
+
+    public void setCycleRate(double cycleRate) {
+        this.cycleRate = cycleRate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Injected field of a generated class
+     */
+    private static class Dependency {
+        final String qualifiedName;
+        final boolean rpc;
+        final String fieldName;
+
+        Dependency(String qualifiedName, boolean rpc, String fieldName) {
+            this.qualifiedName = qualifiedName;
+            this.rpc = rpc;
+            this.fieldName = fieldName;
+        }
+
+        String simpleName() {
+            return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.analyzer.bench;
+
+import com.example.analyzer.core.DubboInterfaceRegistry;
+import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.CallType;
+import com.example.analyzer.model.MethodCall;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DubboInterfaceRegistry construction and resolution of every RPC call target of a corpus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DubboRegistryBenchmark {
+
+    @Param({"test-project-complex", "synthetic:services=8,classes=50,methods=10"})
+    public String corpus;
+
+    private AnalysisResult result;
+    private List<String> interfaceNames;
+    private DubboInterfaceRegistry registry;
+
+    @Setup
+    public void setup() {
+        result = BenchmarkCorpus.analyze(corpus);
+        interfaceNames = new ArrayList<>();
+        for (MethodCall call : result.getMethodCalls()) {
+            String target = call.getTargetQualifiedMethod();
+            if (call.getCallType() == CallType.RPC_METHOD_CALL && target != null && target.contains(".")) {
+                interfaceNames.add(target.substring(0, target.lastIndexOf('.')));
+            }
+        }
+        registry = new DubboInterfaceRegistry();
+        registry.buildFromClasses(result.getClasses());
+    }
+
+    @Benchmark
+    public DubboInterfaceRegistry build() {
+        DubboInterfaceRegistry fresh = new DubboInterfaceRegistry();
+        fresh.buildFromClasses(result.getClasses());
+        return fresh;
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        for (String interfaceName : interfaceNames) {
+            blackhole.consume(registry.resolve(interfaceName));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.analyzer.bench;
+
+import com.example.analyzer.exporter.JsonExporter;
+import com.example.analyzer.exporter.SnapshotExporter;
+import com.example.analyzer.model.AnalysisResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonExporter and SnapshotExporter export/load round trips through temporary files
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"test-project-complex", "synthetic:services=8,classes=50,methods=10"})
+    public String corpus;
+
+    private AnalysisResult result;
+    private JsonExporter jsonExporter;
+    private SnapshotExporter snapshotExporter;
+    private Path jsonFile;
+    private Path snapshotFile;
+
+    @Setup
+    public void setup() throws IOException {
+        result = BenchmarkCorpus.analyze(corpus);
+        jsonExporter = new JsonExporter();
+        snapshotExporter = new SnapshotExporter();
+        jsonFile = Files.createTempFile("bench-", ".json");
+        snapshotFile = Files.createTempFile("bench-", ".bin");
+        jsonExporter.exportStreaming(result, jsonFile.toString(), true);
+        snapshotExporter.export(result, snapshotFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Benchmark
+    public void exportJson() throws IOException {
+        jsonExporter.export(result, jsonFile.toString(), true);
+    }
+
+    @Benchmark
+    public void exportJsonStreaming() throws IOException {
+        jsonExporter.exportStreaming(result, jsonFile.toString(), true);
+    }
+
+    @Benchmark
+    public AnalysisResult loadJson() throws IOException {
+        return jsonExporter.load(jsonFile.toString());
+    }
+
+    @Benchmark
+    public void exportSnapshot() throws IOException {
+        snapshotExporter.export(result, snapshotFile.toString());
+    }
+
+    @Benchmark
+    public AnalysisResult loadSnapshot() throws IOException {
+        return snapshotExporter.load(snapshotFile.toString());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.analyzer.bench;
+
+import com.example.analyzer.analyzer.ClassDependencyAnalyzer;
+import com.example.analyzer.analyzer.MethodCallAnalyzer;
+import com.example.analyzer.core.ProjectScanner;
+import com.example.analyzer.model.MethodInfo;
+import com.example.analyzer.model.ServiceInfo;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StaticJavaParser parsing plus ClassDependencyAnalyzer / MethodCallAnalyzer extraction
+ * over all files of a corpus, read into memory up front so disk I/O is not measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    @Param({"test-project-complex", "synthetic:services=8,classes=50,methods=10"})
+    public String corpus;
+
+    private List<String> sources;
+    private ClassDependencyAnalyzer classDependencyAnalyzer;
+    private MethodCallAnalyzer methodCallAnalyzer;
+
+    @Setup
+    public void setup() throws Exception {
+        ProjectScanner scanner = new ProjectScanner();
+        sources = new ArrayList<>();
+        for (ServiceInfo service : scanner.scanServices(BenchmarkCorpus.servicePaths(corpus))) {
+            for (Path javaFile : scanner.findJavaFiles(service)) {
+                sources.add(new String(Files.readAllBytes(javaFile), StandardCharsets.UTF_8));
+            }
+        }
+        classDependencyAnalyzer = new ClassDependencyAnalyzer();
+        methodCallAnalyzer = new MethodCallAnalyzer();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String source : sources) {
+            blackhole.consume(StaticJavaParser.parse(source));
+        }
+    }
+
+    @Benchmark
+    public void parseAndExtract(Blackhole blackhole) {
+        for (String source : sources) {
+            CompilationUnit cu = StaticJavaParser.parse(source);
+            for (ClassOrInterfaceDeclaration classDecl : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+                blackhole.consume(classDependencyAnalyzer.determineClassType(classDecl));
+                blackhole.consume(classDependencyAnalyzer.extractAnnotations(classDecl));
+                blackhole.consume(classDependencyAnalyzer.analyzeDependencies(cu, classDecl));
+                List<MethodInfo> methods = methodCallAnalyzer.extractMethods(classDecl, "bench");
+                List<MethodDeclaration> methodDecls = classDecl.getMethods();
+                for (int i = 0; i < methodDecls.size() && i < methods.size(); i++) {
+                    blackhole.consume(methodCallAnalyzer.extractCallSites(methodDecls.get(i), methods.get(i).getId()));
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.analyzer;
 
+import com.example.analyzer.core.AnalysisCache;
 import com.example.analyzer.core.CallChainEngine;
+import com.example.analyzer.core.ChainLimits;
+import com.example.analyzer.core.ChangeImpactAnalyzer;
+import com.example.analyzer.core.GitDiff;
 import com.example.analyzer.core.ProjectScanner;
+import com.example.analyzer.core.SourceWatcher;
 import com.example.analyzer.exporter.JsonExporter;
+import com.example.analyzer.exporter.SnapshotExporter;
 import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.CallChain;
+import com.example.analyzer.model.EntryPointType;
+import com.example.analyzer.model.ImpactReport;
+import com.example.analyzer.model.PerformanceMetrics;
+import com.example.analyzer.model.PhaseMetrics;
+import com.example.analyzer.model.ServiceInfo;
+import com.example.analyzer.server.QueryServer;
+import com.example.analyzer.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Main entry point for Call Chain Analyzer
@@ -17,6 +37,10 @@ import java.util.List;
 public class Main {
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
+    private static final int MAX_REPORTED_CHAINS = 20;
+    private static final String DEFAULT_OUTPUT = "analysis-result.json";
+    private static final String DEFAULT_IMPACT_OUTPUT = "impact-report.json";
+
     public static void main(String[] args) {
         try {
             if (args.length == 0) {
@@ -24,37 +48,36 @@ public class Main {
                 System.exit(1);
             }
 
-            AnalyzerConfig config = parseArguments(args);
-
-            // Discover services from servicesDir if provided
-            if (config.servicesDir != null && !config.servicesDir.trim().isEmpty()) {
-                ProjectScanner scanner = new ProjectScanner();
-                List<String> discovered = scanner.discoverServiceDirs(config.servicesDir, config.recursive);
-                if (discovered.isEmpty()) {
-                    logger.warn("No services discovered under {}", config.servicesDir);
-                } else {
-                    logger.info("Discovered services: {}", discovered);
-                    config.servicePaths.addAll(discovered);
-                }
+            if ("serve".equals(args[0])) {
+                serve(parseArguments(Arrays.copyOfRange(args, 1, args.length)));
+                return;
+            }
+            if ("impact".equals(args[0])) {
+                impact(parseArguments(Arrays.copyOfRange(args, 1, args.length)));
+                System.exit(0);
             }
 
-            if (config.servicePaths.isEmpty()) {
-                System.err.println("Error: No service paths provided");
-                printUsage();
-                System.exit(1);
+            AnalyzerConfig config = parseArguments(args);
+            if (config.target != null && config.watch) {
+                throw new IllegalArgumentException("--target cannot be combined with --watch");
             }
+            PhaseMetrics discovery = discoverServices(config);
 
             logger.info("=== Call Chain Analyzer ===");
             logger.info("Analyzing services: {}", config.servicePaths);
             logger.info("Output file: {}", config.outputPath);
 
             // Run analysis
-            CallChainEngine engine = new CallChainEngine();
-            AnalysisResult result = engine.analyze(config.servicePaths);
+            CallChainEngine engine = createEngine(config);
+            AnalysisResult result = config.target != null
+                    ? engine.analyzeTarget(config.servicePaths, config.target)
+                    : engine.analyze(config.servicePaths);
+            if (discovery != null) {
+                engine.getPerformance().getPhases().add(0, discovery);
+            }
 
             // Export results
-            JsonExporter exporter = new JsonExporter();
-            exporter.export(result, config.outputPath, config.prettyPrint);
+            exportResult(config, engine, result);
 
             logger.info("=== Analysis Complete ===");
             logger.info("Services analyzed: {}", result.getMetadata().getTotalServices());
@@ -62,8 +85,12 @@ public class Main {
             logger.info("Methods found: {}", result.getMetadata().getTotalMethods());
             logger.info("Method calls: {}", result.getMethodCalls().size());
             logger.info("Call chains: {}", result.getCallChains().size());
+            reportTruncatedChains(result);
             logger.info("Results saved to: {}", config.outputPath);
 
+            if (config.watch) {
+                watch(config, engine, result);
+            }
             System.exit(0);
 
         } catch (Exception e) {
@@ -73,6 +100,180 @@ public class Main {
         }
     }
 
+    /**
+     * Write the result in the configured format, and the performance metrics of the last run
+     */
+    private static void exportResult(AnalyzerConfig config, CallChainEngine engine, AnalysisResult result)
+            throws IOException {
+        PerformanceMetrics performance = engine.getPerformance();
+        JsonExporter exporter = new JsonExporter();
+        if ("binary".equalsIgnoreCase(config.format)) {
+            new SnapshotExporter().export(result, config.outputPath, performance, engine.getReachabilityIndex());
+        } else {
+            exporter.exportStreaming(result, config.outputPath, config.prettyPrint, performance);
+        }
+        String metricsPath = config.metricsPath != null ? config.metricsPath : config.outputPath + ".metrics.json";
+        exporter.exportPerformance(performance, metricsPath);
+    }
+
+    /**
+     * Patch the result whenever service sources change and write it again, until the process
+     * is stopped. Lost watch events fall back to a complete analysis.
+     */
+    private static void watch(AnalyzerConfig config, CallChainEngine engine, AnalysisResult result) throws Exception {
+        ProjectScanner scanner = new ProjectScanner();
+        List<Path> sourceRoots = new ArrayList<>();
+        for (ServiceInfo service : result.getServices()) {
+            sourceRoots.add(scanner.sourceRoot(service));
+        }
+
+        try (SourceWatcher watcher = new SourceWatcher(sourceRoots, config.debounceMillis)) {
+            logger.info("Watching {} directories for changes (Ctrl+C to stop)", watcher.getDirectoryCount());
+            while (true) {
+                Set<Path> changes = watcher.awaitChanges();
+                long start = System.nanoTime();
+                if (changes == null) {
+                    logger.warn("Watch events were lost, analyzing all services again");
+                    result = engine.analyze(config.servicePaths);
+                } else {
+                    logger.info("{} paths changed", changes.size());
+                    engine.update(result, changes);
+                }
+                exportResult(config, engine, result);
+                logger.info("Results updated in {} ms: {} call chains saved to {}",
+                        (System.nanoTime() - start) / 1_000_000, result.getCallChains().size(), config.outputPath);
+            }
+        }
+    }
+
+    /**
+     * Analyze the services, or load a snapshot, once and answer queries over HTTP until the
+     * process is stopped
+     */
+    private static void serve(AnalyzerConfig config) throws Exception {
+        CallChainEngine engine = createEngine(config);
+        AnalysisResult result;
+        if (config.snapshotPath != null) {
+            logger.info("Loading snapshot: {}", config.snapshotPath);
+            SnapshotExporter exporter = new SnapshotExporter();
+            result = exporter.load(config.snapshotPath);
+            engine.indexResult(result, exporter.loadReachability(config.snapshotPath));
+        } else {
+            discoverServices(config);
+            logger.info("Analyzing services: {}", config.servicePaths);
+            result = engine.analyze(config.servicePaths);
+        }
+
+        QueryServer server = new QueryServer(result, engine.getCallGraph(), engine.getReachabilityIndex());
+        server.start(config.host, config.port, config.workers);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Report the entry points and services affected by the changes between two commits,
+     * using a snapshot of the base commit instead of analyzing it
+     */
+    private static void impact(AnalyzerConfig config) throws Exception {
+        if (config.snapshotPath == null || config.baseCommit == null) {
+            throw new IllegalArgumentException("impact requires --snapshot <baseline> and --base <commit>");
+        }
+        if (!Files.exists(Paths.get(config.snapshotPath))) {
+            throw new IllegalArgumentException("Baseline snapshot not found: " + config.snapshotPath
+                    + " (create it at the base commit with --format binary)");
+        }
+        logger.info("Loading baseline snapshot: {}", config.snapshotPath);
+        AnalysisResult baseline = new SnapshotExporter().load(config.snapshotPath);
+        GitDiff diff = GitDiff.between(Paths.get(config.repository), config.baseCommit, config.headCommit);
+        logger.info("{} Java files changed between {} and {}", diff.getFiles().size(), config.baseCommit, config.headCommit);
+
+        ImpactReport report = new ChangeImpactAnalyzer(createEngine(config))
+                .analyze(baseline, diff, config.baseCommit, config.headCommit);
+        String outputPath = DEFAULT_OUTPUT.equals(config.outputPath) ? DEFAULT_IMPACT_OUTPUT : config.outputPath;
+        new JsonExporter().exportImpact(report, outputPath);
+
+        int reported = 0;
+        for (ImpactReport.ImpactedEntryPoint entryPoint : report.getImpactedEntryPoints()) {
+            if (reported++ == MAX_REPORTED_CHAINS) {
+                logger.info("... and {} more", report.getImpactedEntryPoints().size() - MAX_REPORTED_CHAINS);
+                break;
+            }
+            logger.info("Impacted {} {}{}", entryPoint.getType(),
+                    entryPoint.getHttpEndpoint() != null ? entryPoint.getHttpEndpoint() : entryPoint.getQualifiedMethod(),
+                    entryPoint.isAdded() ? " (added)" : "");
+        }
+        logger.info("Impacted services: {}", report.getImpactedServices());
+        logger.info("Report saved to: {}", outputPath);
+    }
+
+    /**
+     * Add the services discovered under --services-dir to the service paths, and exit if
+     * there are none at all
+     *
+     * @return timing of the discovery, or null if no directory was searched
+     */
+    private static PhaseMetrics discoverServices(AnalyzerConfig config) {
+        PhaseMetrics discovery = null;
+        if (config.servicesDir != null && !config.servicesDir.trim().isEmpty()) {
+            ProjectScanner scanner = new ProjectScanner();
+            scanner.setIncludes(config.includes);
+            scanner.setExcludes(config.excludes);
+            scanner.setThreads(config.threads);
+            List<String> discovered = scanner.discoverServiceDirs(config.servicesDir, config.recursive);
+            discovery = scanner.getDiscoveryMetrics();
+            if (discovered.isEmpty()) {
+                logger.warn("No services discovered under {}", config.servicesDir);
+            } else {
+                logger.info("Discovered services: {}", discovered);
+                config.servicePaths.addAll(discovered);
+            }
+        }
+
+        if (config.servicePaths.isEmpty()) {
+            System.err.println("Error: No service paths provided");
+            printUsage();
+            System.exit(1);
+        }
+        return discovery;
+    }
+
+    private static CallChainEngine createEngine(AnalyzerConfig config) throws IOException {
+        IdGenerator idGenerator = new IdGenerator(config.idMode);
+        CallChainEngine engine = new CallChainEngine(config.threads, idGenerator);
+        engine.setChainLimits(config.chainLimits);
+        engine.setEntryPointTypes(config.entryPointTypes);
+        engine.setIncremental(config.watch);
+        if (config.cacheDir != null) {
+            logger.info("Using analysis cache: {}", config.cacheDir);
+            engine.setAnalysisCache(new AnalysisCache(config.cacheDir, idGenerator));
+        }
+        return engine;
+    }
+
+    /**
+     * List the call chains that were cut short by a traversal budget
+     */
+    private static void reportTruncatedChains(AnalysisResult result) {
+        int truncated = 0;
+        for (CallChain chain : result.getCallChains()) {
+            if (chain.getBudgetExceeded() == null) {
+                continue;
+            }
+            if (truncated++ < MAX_REPORTED_CHAINS) {
+                CallChain.CallChainNode entry = chain.getEntryPoint();
+                logger.warn("Chain hit {} budget: {} ({} nodes)", chain.getBudgetExceeded(),
+                        entry != null && entry.getHttpEndpoint() != null ? entry.getHttpEndpoint() : chain.getId(),
+                        chain.getChain().size());
+            }
+        }
+        if (truncated > MAX_REPORTED_CHAINS) {
+            logger.warn("... and {} more truncated chains", truncated - MAX_REPORTED_CHAINS);
+        }
+        if (truncated > 0) {
+            logger.warn("Truncated chains: {} (raise --max-depth, --max-nodes or --chain-timeout)", truncated);
+        }
+    }
+
     private static AnalyzerConfig parseArguments(String[] args) {
         AnalyzerConfig config = new AnalyzerConfig();
 
@@ -91,6 +292,16 @@ public class Main {
                         config.servicePaths.addAll(Arrays.asList(paths));
                     }
                     break;
+                case "--include":
+                    if (i + 1 < args.length) {
+                        config.includes.addAll(Arrays.asList(args[++i].split(",")));
+                    }
+                    break;
+                case "--exclude":
+                    if (i + 1 < args.length) {
+                        config.excludes.addAll(Arrays.asList(args[++i].split(",")));
+                    }
+                    break;
                 case "--services-dir":
                 case "-d":
                     if (i + 1 < args.length) {
@@ -110,11 +321,110 @@ public class Main {
                 case "--pretty":
                     config.prettyPrint = true;
                     break;
+                case "--format":
+                case "-f":
+                    if (i + 1 < args.length) {
+                        config.format = args[++i];
+                    }
+                    break;
+                case "--compact":
+                    config.prettyPrint = false;
+                    break;
+                case "--metrics":
+                    if (i + 1 < args.length) {
+                        config.metricsPath = args[++i];
+                    }
+                    break;
+                case "--threads":
+                case "-t":
+                    if (i + 1 < args.length) {
+                        config.threads = Integer.parseInt(args[++i]);
+                    }
+                    break;
                 case "--help":
                 case "-h":
                     printUsage();
                     System.exit(0);
                     break;
+                case "--ids":
+                    if (i + 1 < args.length) {
+                        config.idMode = IdGenerator.Mode.valueOf(args[++i].toUpperCase());
+                    }
+                    break;
+                case "--cache-dir":
+                    if (i + 1 < args.length) {
+                        config.cacheDir = args[++i];
+                    }
+                    break;
+                case "--max-depth":
+                    if (i + 1 < args.length) {
+                        config.chainLimits.setMaxDepth(Integer.parseInt(args[++i]));
+                    }
+                    break;
+                case "--max-nodes":
+                    if (i + 1 < args.length) {
+                        config.chainLimits.setMaxNodes(Integer.parseInt(args[++i]));
+                    }
+                    break;
+                case "--snapshot":
+                    if (i + 1 < args.length) {
+                        config.snapshotPath = args[++i];
+                    }
+                    break;
+                case "--host":
+                    if (i + 1 < args.length) {
+                        config.host = args[++i];
+                    }
+                    break;
+                case "--port":
+                    if (i + 1 < args.length) {
+                        config.port = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--workers":
+                    if (i + 1 < args.length) {
+                        config.workers = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--entry-points":
+                    if (i + 1 < args.length) {
+                        config.entryPointTypes = parseEntryPointTypes(args[++i]);
+                    }
+                    break;
+                case "--watch":
+                case "-w":
+                    config.watch = true;
+                    break;
+                case "--debounce":
+                    if (i + 1 < args.length) {
+                        config.debounceMillis = Long.parseLong(args[++i]);
+                    }
+                    break;
+                case "--target":
+                    if (i + 1 < args.length) {
+                        config.target = args[++i];
+                    }
+                    break;
+                case "--repo":
+                    if (i + 1 < args.length) {
+                        config.repository = args[++i];
+                    }
+                    break;
+                case "--base":
+                    if (i + 1 < args.length) {
+                        config.baseCommit = args[++i];
+                    }
+                    break;
+                case "--head":
+                    if (i + 1 < args.length) {
+                        config.headCommit = args[++i];
+                    }
+                    break;
+                case "--chain-timeout":
+                    if (i + 1 < args.length) {
+                        config.chainLimits.setTimeoutMillis(Long.parseLong(args[++i]));
+                    }
+                    break;
                 default:
                     // Treat as service path if no flag
                     if (!arg.startsWith("-")) {
@@ -126,21 +436,68 @@ public class Main {
         return config;
     }
 
+    /**
+     * Parse a comma-separated list of entry point types: http, dubbo, scheduled, mq
+     */
+    private static Set<EntryPointType> parseEntryPointTypes(String value) {
+        Set<EntryPointType> types = EnumSet.noneOf(EntryPointType.class);
+        for (String name : value.split(",")) {
+            String type = name.trim().toUpperCase();
+            types.add("MQ".equals(type) ? EntryPointType.MESSAGE_LISTENER : EntryPointType.valueOf(type));
+        }
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("No entry point types given");
+        }
+        return types;
+    }
+
     private static void printUsage() {
         System.out.println("Call Chain Analyzer - Static analysis tool for Spring Boot + Dubbo microservices");
         System.out.println();
         System.out.println("Usage:");
         System.out.println("  java -jar call-chain-analyzer.jar [OPTIONS] <service-path>...");
+        System.out.println("  java -jar call-chain-analyzer.jar serve [OPTIONS] [--snapshot <file> | <service-path>...]");
+        System.out.println("  java -jar call-chain-analyzer.jar impact --snapshot <baseline> --base <commit> [--head <commit>]");
         System.out.println();
         System.out.println("Options:");
         System.out.println("  -s, --service <path>       Path to a single service directory");
         System.out.println("  --services <paths>         Comma-separated list of service paths");
         System.out.println("  -d, --services-dir <dir>   Discover services under a parent directory");
         System.out.println("  -r, --recursive            Recursively discover services under --services-dir");
+        System.out.println("  --include <globs>          Only report discovered services matching these globs, e.g. order-*,apps/**");
+        System.out.println("  --exclude <globs>          Skip these directories during discovery (target, build, node_modules");
+        System.out.println("                             and hidden directories are always skipped)");
         System.out.println("  -o, --output <file>        Output JSON file path (default: analysis-result.json)");
+        System.out.println("  -f, --format <json|binary> Output format (default: json); binary writes a fast-loading snapshot");
         System.out.println("  --pretty                   Pretty-print JSON output");
+        System.out.println("  --compact                  Write compact JSON without whitespace");
+        System.out.println("  -t, --threads <n>          Worker threads for discovery, parsing and chain building (default: 1, 0 = all processors)");
+        System.out.println("  --ids <random|stable|hash> ID scheme; stable/hash give identical output for unchanged input");
+        System.out.println("  --cache-dir <dir>          Reuse parse results of unchanged files from this directory");
+        System.out.println("  --max-depth <n>            Maximum call depth per chain (default: 20)");
+        System.out.println("  --max-nodes <n>            Maximum nodes per chain (default: unlimited)");
+        System.out.println("  --chain-timeout <ms>       Maximum traversal time per entry point (default: unlimited)");
+        System.out.println("  --entry-points <types>     Entry point types to build chains from: http,dubbo,scheduled,mq (default: http)");
+        System.out.println("  --metrics <file>           Per-phase performance metrics file (default: <output>.metrics.json);");
+        System.out.println("                             the only place timings are written with --ids stable/hash");
+        System.out.println("  -w, --watch                Keep running and update the output when source files change");
+        System.out.println("  --debounce <ms>            Quiet period that ends a batch of file changes in watch mode (default: 200)");
+        System.out.println("  --target <endpoint|method> Only parse what one chain needs, e.g. \"GET /api/orders/{id}\" or OrderController.getOrder");
         System.out.println("  -h, --help                 Show this help message");
         System.out.println();
+        System.out.println("Serve options:");
+        System.out.println("  --snapshot <file>          Serve a binary snapshot instead of analyzing services");
+        System.out.println("  --host <address>           Address to listen on (default: 127.0.0.1)");
+        System.out.println("  --port <n>                 Port to listen on (default: 8080)");
+        System.out.println("  --workers <n>              Query worker threads (default: all processors)");
+        System.out.println();
+        System.out.println("Impact options:");
+        System.out.println("  --snapshot <file>          Binary snapshot of the base commit");
+        System.out.println("  --base <commit>            Commit the snapshot was taken at");
+        System.out.println("  --head <commit>            Commit to compare with (default: HEAD)");
+        System.out.println("  --repo <dir>               Directory of the git checkout (default: .)");
+        System.out.println("  -o, --output <file>        Report file (default: impact-report.json)");
+        System.out.println();
         System.out.println("Examples:");
         System.out.println("  # Analyze single service");
         System.out.println("  java -jar analyzer.jar --service ./user-service --output result.json");
@@ -153,13 +510,45 @@ public class Main {
         System.out.println();
         System.out.println("  # Analyze with pretty-printed output");
         System.out.println("  java -jar analyzer.jar --service ./user-service --output result.json --pretty");
+        System.out.println();
+        System.out.println("  # Call chain of a single endpoint");
+        System.out.println("  java -jar analyzer.jar --services-dir ./services --target \"GET /api/orders/{id}\" --output order.json");
+        System.out.println();
+        System.out.println("  # Keep the output up to date while editing");
+        System.out.println("  java -jar analyzer.jar --services-dir ./services --watch --output chains.json");
+        System.out.println();
+        System.out.println("  # Entry points affected by a merge request");
+        System.out.println("  java -jar analyzer.jar impact --snapshot main.bin --base origin/main --head HEAD");
+        System.out.println();
+        System.out.println("  # Keep a snapshot in memory and query it over HTTP");
+        System.out.println("  java -jar analyzer.jar serve --snapshot result.bin --port 8080");
+        System.out.println("  curl 'http://127.0.0.1:8080/reachers?to=<method-id>'");
     }
 
     private static class AnalyzerConfig {
         List<String> servicePaths = new ArrayList<>();
-        String outputPath = "analysis-result.json";
+        String outputPath = DEFAULT_OUTPUT;
         boolean prettyPrint = true;  // Default to pretty print
+        String format = "json";
         String servicesDir;
+        List<String> includes = new ArrayList<>();
+        List<String> excludes = new ArrayList<>();
         boolean recursive = false;
+        int threads = 1;
+        IdGenerator.Mode idMode = IdGenerator.Mode.RANDOM;
+        String cacheDir;
+        String metricsPath;
+        ChainLimits chainLimits = new ChainLimits();
+        Set<EntryPointType> entryPointTypes = EnumSet.of(EntryPointType.HTTP);
+        String snapshotPath;
+        String host = "127.0.0.1";
+        int port = 8080;
+        int workers = Runtime.getRuntime().availableProcessors();
+        boolean watch = false;
+        long debounceMillis = 200;
+        String target;
+        String repository = ".";
+        String baseCommit;
+        String headCommit = "HEAD";
     }
 }
@@ -1,6 +1,7 @@
 package com.example.analyzer.analyzer;
 
 import com.example.analyzer.model.*;
+import com.example.analyzer.util.IdGenerator;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
@@ -12,7 +13,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Analyzes method-level call relationships
@@ -20,6 +20,16 @@ import java.util.UUID;
 public class MethodCallAnalyzer {
     private static final Logger logger = LoggerFactory.getLogger(MethodCallAnalyzer.class);
 
+    private final IdGenerator idGenerator;
+
+    public MethodCallAnalyzer() {
+        this(new IdGenerator());
+    }
+
+    public MethodCallAnalyzer(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     /**
      * Extract all methods from a class
      */
@@ -28,7 +38,6 @@ public class MethodCallAnalyzer {
 
         classDecl.getMethods().forEach(method -> {
             MethodInfo methodInfo = new MethodInfo();
-            methodInfo.setId(UUID.randomUUID().toString());
             methodInfo.setClassId(classId);
             methodInfo.setMethodName(method.getNameAsString());
             methodInfo.setSignature(method.getDeclarationAsString(false, false, false));
@@ -37,15 +46,19 @@ public class MethodCallAnalyzer {
             methodInfo.setReturnType(method.getType().asString());
 
             // Extract parameters
+            List<String> parameterTypes = new ArrayList<>();
             int paramIndex = 0;
             for (com.github.javaparser.ast.body.Parameter param : method.getParameters()) {
+                String paramType = param.getType().asString();
                 MethodParameter methodParam = new MethodParameter(
                         param.getNameAsString(),
-                        param.getType().asString(),
+                        paramType,
                         paramIndex++
                 );
                 methodInfo.addParameter(methodParam);
+                parameterTypes.add(param.isVarArgs() ? paramType + "..." : paramType);
             }
+            methodInfo.setId(idGenerator.methodId(classId, methodInfo.getMethodName(), parameterTypes));
 
             // Extract annotations
             for (AnnotationExpr annotation : method.getAnnotations()) {
@@ -70,142 +83,180 @@ public class MethodCallAnalyzer {
                                                  ClassInfo sourceClass,
                                                  AnalysisResult analysisResult) {
         List<MethodCall> methodCalls = new ArrayList<>();
+        for (CallSite callSite : extractCallSites(method, sourceMethodId)) {
+            MethodCall methodCall = resolveCallSite(callSite, sourceClass, analysisResult);
+            if (methodCall != null) {
+                methodCalls.add(methodCall);
+            }
+        }
+        return methodCalls;
+    }
+
+    /**
+     * Extract the method call expressions of a method body. Only reads the AST, so the
+     * result can be cached and resolved later against the complete declaration table.
+     */
+    public List<CallSite> extractCallSites(MethodDeclaration method, String sourceMethodId) {
+        List<CallSite> callSites = new ArrayList<>();
 
         method.accept(new VoidVisitorAdapter<Void>() {
             @Override
             public void visit(MethodCallExpr call, Void arg) {
-                try {
-                    MethodCall methodCall = new MethodCall();
-                    methodCall.setId(UUID.randomUUID().toString());
-                    methodCall.setSourceMethodId(sourceMethodId);
-                    methodCall.setCallerExpression(call.toString());
-
-                    call.getBegin().ifPresent(pos -> methodCall.setSourceLineNumber(pos.line));
-
-                    // Try to determine call type
-                    String calledMethodName = call.getNameAsString();
-
-                    // Check if it's a call on a Dubbo reference field
-                    if (call.getScope().isPresent()) {
-                        String scopeName = call.getScope().get().toString();
-
-                        // Look for field in dependencies
-                        boolean isDubboCall = sourceClass.getDependencies().stream()
-                                .anyMatch(dep -> dep.getFieldName().equals(scopeName)
-                                        && dep.getInjectionType() == InjectionType.DUBBO_REFERENCE);
-
-                        if (isDubboCall) {
-                            methodCall.setCallType(CallType.RPC_METHOD_CALL);
-                            methodCall.setCrossService(true);
-
-                            // Find target service (simplified - would need more logic in real impl)
-                            sourceClass.getDependencies().stream()
-                                    .filter(dep -> dep.getFieldName().equals(scopeName))
-                                    .findFirst()
-                                    .ifPresent(dep -> {
-                                        methodCall.setTargetQualifiedMethod(
-                                                dep.getTargetQualifiedName() + "." + calledMethodName);
-                                    });
-                        } else {
-                            methodCall.setCallType(CallType.INTERNAL_METHOD_CALL);
-                            methodCall.setCrossService(false);
-                        }
-                    } else {
-                        // No scope - likely internal method call
-                        methodCall.setCallType(CallType.INTERNAL_METHOD_CALL);
-                        methodCall.setCrossService(false);
-                    }
+                CallSite callSite = new CallSite(
+                        sourceMethodId,
+                        callSites.size(),
+                        call.getNameAsString(),
+                        call.getScope().map(Object::toString).orElse(null),
+                        call.getArguments().size());
+                callSite.setExpression(call.toString());
+                call.getBegin().ifPresent(pos -> callSite.setLineNumber(pos.line));
+                callSites.add(callSite);
 
-                    // Try to resolve target method within the same service (best-effort)
-                    if (methodCall.getCallType() == CallType.INTERNAL_METHOD_CALL) {
-                        String scope = call.getScope().map(Object::toString).orElse(null);
-
-                        // Candidate target classes
-                        List<ClassInfo> candidateClasses = new ArrayList<>();
-
-                        if (scope == null || "this".equals(scope)) {
-                            // Unscoped or this.method() => same class
-                            candidateClasses.add(sourceClass);
-                        } else {
-                            // Field-based call: match class dependency by field name
-                            sourceClass.getDependencies().stream()
-                                    .filter(dep -> dep.getFieldName().equals(scope))
-                                    .findFirst()
-                                    .ifPresent(dep -> {
-                                        String typeName = dep.getTargetQualifiedName();
-                                        // Try qualified match first
-                                        analysisResult.getClasses().stream()
-                                                .filter(c -> c.getQualifiedName() != null && c.getQualifiedName().equals(typeName))
-                                                .findFirst()
-                                                .ifPresent(candidateClasses::add);
-                                        if (candidateClasses.isEmpty()) {
-                                            // Fallback to simple name match or endsWith
-                                            analysisResult.getClasses().stream()
-                                                    .filter(c -> c.getClassName() != null && c.getClassName().equals(typeName)
-                                                            || (c.getQualifiedName() != null && c.getQualifiedName().endsWith("." + typeName)))
-                                                    .findFirst()
-                                                    .ifPresent(candidateClasses::add);
-                                        }
-                                    });
-
-                            // Static call like ClassName.method() (no matching field)
-                            if (candidateClasses.isEmpty()) {
-                                String typeName = scope;
-                                analysisResult.getClasses().stream()
-                                        .filter(c -> (c.getQualifiedName() != null && (c.getQualifiedName().equals(typeName)
-                                                || c.getQualifiedName().endsWith("." + typeName)))
-                                                || (c.getClassName() != null && c.getClassName().equals(typeName)))
-                                        .findFirst()
-                                        .ifPresent(candidateClasses::add);
-                            }
-                        }
+                super.visit(call, arg);
+            }
+        }, null);
 
-                        // Resolve target method by name and arg count
-                        if (!candidateClasses.isEmpty()) {
-                            int argCount = call.getArguments().size();
-                            for (ClassInfo targetClass : candidateClasses) {
-                                MethodInfo resolved = analysisResult.getMethods().stream()
-                                        .filter(m -> m.getClassId().equals(targetClass.getId()))
-                                        .filter(m -> calledMethodName.equals(m.getMethodName()))
-                                        .filter(m -> m.getParameters() != null && m.getParameters().size() == argCount)
-                                        .findFirst()
-                                        .orElse(null);
-                                if (resolved == null) {
-                                    // Fallback: match by name only if unique within class
-                                    List<MethodInfo> sameName = new ArrayList<>();
-                                    for (MethodInfo mi : analysisResult.getMethods()) {
-                                        if (mi.getClassId().equals(targetClass.getId()) && calledMethodName.equals(mi.getMethodName())) {
-                                            sameName.add(mi);
-                                        }
-                                    }
-                                    if (sameName.size() == 1) {
-                                        resolved = sameName.get(0);
-                                    }
+        return callSites;
+    }
+
+    /**
+     * Resolve a call site into a method call, using the source class dependencies
+     * and the declarations registered in the analysis result
+     *
+     * @return the method call, or null if the call site could not be analyzed
+     */
+    public MethodCall resolveCallSite(CallSite callSite, ClassInfo sourceClass, AnalysisResult analysisResult) {
+        try {
+            MethodCall methodCall = new MethodCall();
+            methodCall.setId(idGenerator.methodCallId(callSite.getSourceMethodId(), callSite.getOrdinal()));
+            methodCall.setSourceMethodId(callSite.getSourceMethodId());
+            methodCall.setCallerExpression(callSite.getExpression());
+            methodCall.setSourceLineNumber(callSite.getLineNumber());
+
+            // Try to determine call type
+            String calledMethodName = callSite.getMethodName();
+            String scope = callSite.getScope();
+
+            // Check if it's a call on a Dubbo reference field
+            if (scope != null) {
+                // Look for field in dependencies
+                boolean isDubboCall = sourceClass.getDependencies().stream()
+                        .anyMatch(dep -> dep.getFieldName().equals(scope)
+                                && dep.getInjectionType() == InjectionType.DUBBO_REFERENCE);
+
+                if (isDubboCall) {
+                    methodCall.setCallType(CallType.RPC_METHOD_CALL);
+                    methodCall.setCrossService(true);
+
+                    // Find target service (simplified - would need more logic in real impl)
+                    sourceClass.getDependencies().stream()
+                            .filter(dep -> dep.getFieldName().equals(scope))
+                            .findFirst()
+                            .ifPresent(dep -> {
+                                methodCall.setTargetQualifiedMethod(
+                                        dep.getTargetQualifiedName() + "." + calledMethodName);
+                            });
+                } else {
+                    methodCall.setCallType(CallType.INTERNAL_METHOD_CALL);
+                    methodCall.setCrossService(false);
+                }
+            } else {
+                // No scope - likely internal method call
+                methodCall.setCallType(CallType.INTERNAL_METHOD_CALL);
+                methodCall.setCrossService(false);
+            }
+
+            // Try to resolve target method within the same service (best-effort)
+            if (methodCall.getCallType() == CallType.INTERNAL_METHOD_CALL) {
+                // Candidate target classes
+                List<ClassInfo> candidateClasses = new ArrayList<>();
+
+                if (scope == null || "this".equals(scope)) {
+                    // Unscoped or this.method() => same class
+                    candidateClasses.add(sourceClass);
+                } else {
+                    // Field-based call: match class dependency by field name
+                    sourceClass.getDependencies().stream()
+                            .filter(dep -> dep.getFieldName().equals(scope))
+                            .findFirst()
+                            .ifPresent(dep -> {
+                                String typeName = dep.getTargetQualifiedName();
+                                // Try qualified match first
+                                ClassInfo targetClass = analysisResult.getClassByQualifiedName(typeName);
+                                if (targetClass == null) {
+                                    // Fallback to simple name match or endsWith
+                                    targetClass = findClassByTypeName(typeName, analysisResult);
+                                }
+                                if (targetClass != null) {
+                                    candidateClasses.add(targetClass);
                                 }
-                                if (resolved != null) {
-                                    methodCall.setTargetMethodId(resolved.getId());
-                                    methodCall.setTargetQualifiedMethod(targetClass.getQualifiedName() + "." + resolved.getMethodName());
-                                    break;
+                            });
+
+                    // Static call like ClassName.method() (no matching field)
+                    if (candidateClasses.isEmpty()) {
+                        ClassInfo targetClass = findClassByTypeName(scope, analysisResult);
+                        if (targetClass != null) {
+                            candidateClasses.add(targetClass);
+                        }
+                    }
+                }
+
+                // Resolve target method by name and arg count
+                if (!candidateClasses.isEmpty()) {
+                    int argCount = callSite.getArgumentCount();
+                    for (ClassInfo targetClass : candidateClasses) {
+                        List<MethodInfo> sameArity = analysisResult.getMethodsByNameAndArity(
+                                targetClass.getId(), calledMethodName, argCount);
+                        MethodInfo resolved = sameArity.isEmpty() ? null : sameArity.get(0);
+                        if (resolved == null) {
+                            // Fallback: match by name only if unique within class
+                            List<MethodInfo> sameName = new ArrayList<>();
+                            for (MethodInfo mi : analysisResult.getMethodsByClassId(targetClass.getId())) {
+                                if (calledMethodName.equals(mi.getMethodName())) {
+                                    sameName.add(mi);
                                 }
                             }
+                            if (sameName.size() == 1) {
+                                resolved = sameName.get(0);
+                            }
+                        }
+                        if (resolved != null) {
+                            methodCall.setTargetMethodId(resolved.getId());
+                            methodCall.setTargetQualifiedMethod(targetClass.getQualifiedName() + "." + resolved.getMethodName());
+                            break;
                         }
                     }
+                }
+            }
 
-                    methodCalls.add(methodCall);
-                    logger.debug("Found method call: {} at line {}",
-                            call.getNameAsString(),
-                            call.getBegin().map(pos -> pos.line).orElse(-1));
+            logger.debug("Found method call: {} at line {}", calledMethodName, callSite.getLineNumber());
+            return methodCall;
 
-                } catch (Exception e) {
-                    logger.warn("Failed to analyze method call {}: {}",
-                            call.getNameAsString(), e.getMessage());
-                }
+        } catch (Exception e) {
+            logger.warn("Failed to analyze method call {}: {}",
+                    callSite.getMethodName(), e.getMessage());
+            return null;
+        }
+    }
 
-                super.visit(call, arg);
+    /**
+     * Find the first class whose simple name equals the type name or whose qualified name
+     * equals or ends with it. Only classes sharing the last name segment can match, so the
+     * simple-name index narrows the search instead of scanning all classes.
+     */
+    private ClassInfo findClassByTypeName(String typeName, AnalysisResult analysisResult) {
+        if (typeName == null) {
+            return null;
+        }
+        String simpleName = typeName.substring(typeName.lastIndexOf('.') + 1);
+        for (ClassInfo c : analysisResult.getClassesBySimpleName(simpleName)) {
+            if (c.getClassName().equals(typeName)
+                    || (c.getQualifiedName() != null && (c.getQualifiedName().equals(typeName)
+                    || c.getQualifiedName().endsWith("." + typeName)))) {
+                return c;
             }
-        }, null);
-
-        return methodCalls;
+        }
+        return null;
     }
 
     /**
@@ -225,6 +276,38 @@ public class MethodCallAnalyzer {
         return false;
     }
 
+    /**
+     * Classify a method as entry point of a call chain
+     *
+     * @return the entry point type, or null if the method is not triggered from outside
+     */
+    public EntryPointType classifyEntryPoint(MethodInfo method, ClassInfo classInfo) {
+        if (classInfo.getType() == ClassType.CONTROLLER && isHttpEndpoint(method)) {
+            return EntryPointType.HTTP;
+        }
+        for (String annotation : method.getAnnotations()) {
+            if (annotation.contains("Scheduled")) {
+                return EntryPointType.SCHEDULED;
+            }
+            if (annotation.contains("KafkaListener") ||
+                annotation.contains("RabbitListener") ||
+                annotation.contains("JmsListener")) {
+                return EntryPointType.MESSAGE_LISTENER;
+            }
+        }
+        if ("onMessage".equals(method.getMethodName())) {
+            for (String annotation : classInfo.getAnnotations()) {
+                if (annotation.contains("RocketMQMessageListener")) {
+                    return EntryPointType.MESSAGE_LISTENER;
+                }
+            }
+        }
+        if (classInfo.getType() == ClassType.DUBBO_SERVICE) {
+            return EntryPointType.DUBBO;
+        }
+        return null;
+    }
+
     /**
      * Extract HTTP endpoint path from annotations
      */
@@ -0,0 +1,157 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.ServiceInfo;
+import com.example.analyzer.util.IdGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-disk cache of per-file declaration pass output (classes, methods and unresolved call sites).
+ * Entries are keyed by the file content hash plus the analyzer version, the ID mode and the
+ * owning service (its ID, or its coordinates and root when IDs are random), so unchanged files
+ * can skip parsing entirely. Call resolution and chain building always run on the complete
+ * table and are never cached.
+ */
+public class AnalysisCache {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisCache.class);
+
+    /**
+     * Bump whenever the extracted declarations or call sites change shape or content.
+     * 2: entry point classification in the declaration pass, prefiltered declaration-only files
+     */
+    static final String ANALYZER_VERSION = "2";
+
+    private static final TypeReference<List<ParsedClass>> ENTRY_TYPE = new TypeReference<List<ParsedClass>>() {
+    };
+
+    private final Path cacheDir;
+    private final IdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public AnalysisCache(String cacheDir, IdGenerator idGenerator) throws IOException {
+        this.cacheDir = Paths.get(cacheDir);
+        this.idGenerator = idGenerator;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Files.createDirectories(this.cacheDir);
+    }
+
+    /**
+     * Compute the cache key of a source file
+     */
+    public String key(ServiceInfo service, Path javaFile, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ANALYZER_VERSION.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(idGenerator.getMode().name().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            // Cached IDs are nested under the service ID when they are deterministic. Random
+            // service IDs change every run, so two services with the same coordinates are told
+            // apart by their root instead; they must not share entries and thus class IDs.
+            String serviceKey = idGenerator.isDeterministic()
+                    ? service.getId()
+                    : service.getGroupId() + ":" + service.getArtifactId() + "@"
+                    + Paths.get(service.getRootPath()).toAbsolutePath().normalize();
+            digest.update(serviceKey.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            String relativePath = Paths.get(service.getRootPath()).relativize(javaFile.toAbsolutePath()).toString();
+            digest.update(relativePath.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Load the cached declarations of a file
+     *
+     * @return the parsed classes, or null on a cache miss
+     */
+    public List<ParsedClass> get(String key) {
+        Path entry = entryPath(key);
+        if (!Files.exists(entry)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        try {
+            List<ParsedClass> parsedClasses = objectMapper.readValue(entry.toFile(), ENTRY_TYPE);
+            hits.incrementAndGet();
+            return parsedClasses;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cache entry {}: {}", entry, e.getMessage());
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Store the declarations of a file. Written to a temporary file first, so concurrent
+     * readers never see a partial entry.
+     */
+    public void put(String key, List<ParsedClass> parsedClasses) {
+        Path entry = entryPath(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            temp = Files.createTempFile(entry.getParent(), key, ".tmp");
+            objectMapper.writeValue(temp.toFile(), parsedClasses);
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write cache entry {}: {}", entry, e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException deleteFailure) {
+                    logger.debug("Failed to delete {}: {}", temp, deleteFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public String getStatistics() {
+        return String.format("Hits: %d, Misses: %d", hits.get(), misses.get());
+    }
+
+    private Path entryPath(String key) {
+        return cacheDir.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+            sb.append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -3,15 +3,25 @@ package com.example.analyzer.core;
 import com.example.analyzer.analyzer.ClassDependencyAnalyzer;
 import com.example.analyzer.analyzer.MethodCallAnalyzer;
 import com.example.analyzer.model.*;
+import com.example.analyzer.util.IdGenerator;
+import com.example.analyzer.util.PhaseTimer;
+import com.example.analyzer.util.StringPool;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Main engine for analyzing call chains across services
@@ -23,14 +33,68 @@ public class CallChainEngine {
     private final ClassDependencyAnalyzer classDependencyAnalyzer;
     private final MethodCallAnalyzer methodCallAnalyzer;
     private final DubboInterfaceRegistry dubboRegistry;
+    private final IdGenerator idGenerator;
+    private AnalysisCache analysisCache;
+    private ChainLimits chainLimits = new ChainLimits();
+    private PerformanceMetrics performance;
+    private CallGraph callGraph;
+    private CallGraphCondensation condensation;
+    private ReachabilityIndex reachabilityIndex;
+    private EntryPointIndex entryPointIndex;
+    private Set<EntryPointType> entryPointTypes = EnumSet.of(EntryPointType.HTTP);
+    private boolean incremental;
+    private SourceState sources;
+    private final AtomicLong skippedFiles = new AtomicLong();
+    private final AtomicLong declarationOnlyFiles = new AtomicLong();
+
+    /**
+     * Number of worker threads used for parsing and chain building; 1 means sequential analysis
+     */
+    private final int threads;
 
     public CallChainEngine() {
-        this.projectScanner = new ProjectScanner();
+        this(1);
+    }
+
+    public CallChainEngine(int threads) {
+        this(threads, new IdGenerator());
+    }
+
+    /**
+     * @param threads     number of worker threads, values below 1 use all available processors
+     * @param idGenerator generator for entity IDs; a deterministic one makes repeated runs comparable
+     */
+    public CallChainEngine(int threads, IdGenerator idGenerator) {
+        this.threads = threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+        this.idGenerator = idGenerator;
+        this.projectScanner = new ProjectScanner(idGenerator);
         this.classDependencyAnalyzer = new ClassDependencyAnalyzer();
-        this.methodCallAnalyzer = new MethodCallAnalyzer();
+        this.methodCallAnalyzer = new MethodCallAnalyzer(idGenerator);
         this.dubboRegistry = new DubboInterfaceRegistry();
     }
 
+    /**
+     * Reuse declaration pass output of unchanged files from the given cache
+     */
+    public void setAnalysisCache(AnalysisCache analysisCache) {
+        this.analysisCache = analysisCache;
+    }
+
+    /**
+     * Keep the parse output of each source file after analysis, so that {@link #update}
+     * can patch the result when files change
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Depth, node and time budgets for the traversal of each entry point
+     */
+    public void setChainLimits(ChainLimits chainLimits) {
+        this.chainLimits = chainLimits;
+    }
+
     /**
      * Analyze multiple services and build complete call chain graph
      */
@@ -39,90 +103,574 @@ public class CallChainEngine {
 
         AnalysisResult result = new AnalysisResult();
         result.getMetadata().setProjectName("multi-service-analysis");
+        performance = new PerformanceMetrics(threads);
+        // The pool spans one analysis, so long-running processes do not keep old strings
+        StringPool.clear();
+        entryPointIndex = new EntryPointIndex();
+        sources = incremental ? new SourceState() : null;
+        if (idGenerator.isDeterministic()) {
+            // Keep the output byte-identical for unchanged input; timings are still
+            // available from getPerformance()
+            result.getMetadata().setAnalysisTime(null);
+        } else {
+            result.getMetadata().setPerformance(performance);
+        }
 
         // Step 1: Scan all services
+        PhaseTimer timer = PhaseTimer.start("scan");
         List<ServiceInfo> services = projectScanner.scanServices(servicePaths);
         result.setServices(services);
         result.getMetadata().setTotalServices(services.size());
+        Map<ServiceInfo, List<Path>> javaFiles = new LinkedHashMap<>();
+        int totalFiles = 0;
+        for (ServiceInfo service : services) {
+            List<Path> serviceFiles = projectScanner.findJavaFiles(service);
+            logger.info("Found {} Java files in {}", serviceFiles.size(), service.getName());
+            javaFiles.put(service, serviceFiles);
+            if (sources != null) {
+                sources.setFiles(service, serviceFiles);
+            }
+            totalFiles += serviceFiles.size();
+        }
+        recordPhase(timer.stop(totalFiles, 0));
         logger.info("Discovered {} services", services.size());
 
-        // Step 2: Analyze each service
-        for (ServiceInfo service : services) {
-            analyzeService(service, result);
+        // Step 2: Declaration pass - register classes, fields and method signatures of all
+        // services, then body pass - resolve method calls against the complete table
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        if (pool != null) {
+            logger.info("Analyzing with {} worker threads", threads);
+        }
+        try {
+            timer = PhaseTimer.start("parse");
+            List<ParsedClass> parsedClasses = new ArrayList<>();
+            for (ServiceInfo service : services) {
+                parsedClasses.addAll(declareService(service, javaFiles.get(service), result, pool));
+            }
+            long callSites = 0;
+            for (ParsedClass parsedClass : parsedClasses) {
+                callSites += parsedClass.getCallSites().size();
+            }
+            recordPhase(timer.stop(totalFiles, callSites));
+            recordPrefilter();
+            logger.info("Declaration pass complete: {} classes, {} methods, {}",
+                    result.getClasses().size(), result.getMethods().size(), entryPointIndex);
+
+            if (analysisCache != null) {
+                logger.info("Analysis cache: {}", analysisCache.getStatistics());
+            }
+
+            timer = PhaseTimer.start("resolve");
+            analyzeMethodBodies(parsedClasses, result, pool);
+            recordPhase(timer.stop(totalFiles, result.getMethodCalls().size()));
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
         }
 
         // Step 2.5: Build Dubbo interface registry
         logger.info("Building Dubbo interface registry");
+        timer = PhaseTimer.start("dubboRegistry");
+        dubboRegistry.clear();
         dubboRegistry.buildFromClasses(result.getClasses());
+        recordPhase(timer.stop(0, 0));
         logger.info("Dubbo registry: {}", dubboRegistry.getStatistics());
 
+        // Step 2.6: Freeze the resolved call graph
+        timer = PhaseTimer.start("callGraph");
+        buildCallGraph(result);
+        recordPhase(timer.stop(0, callGraph.getEdgeCount()));
+
+        // Step 2.7: Condense recursion into strongly connected components
+        timer = PhaseTimer.start("condense");
+        condenseCallGraph(result);
+        recordPhase(timer.stop(0, callGraph.getEdgeCount()));
+
+        // Step 2.8: Index what every entry point can reach
+        timer = PhaseTimer.start("reachability");
+        buildReachabilityIndex();
+        recordPhase(timer.stop(0, condensation.getDagEdgeCount()));
+
         // Step 3: Build call chains from entry points
+        timer = PhaseTimer.start("callChains");
         buildCallChains(result);
+        long chainNodes = 0;
+        for (CallChain chain : result.getCallChains()) {
+            chainNodes += chain.getChain().size();
+        }
+        recordPhase(timer.stop(0, chainNodes));
 
         // Step 4: Update metadata
         result.getMetadata().setTotalClasses(result.getClasses().size());
         result.getMetadata().setTotalMethods(result.getMethods().size());
 
-        logger.info("Analysis complete: {} classes, {} methods, {} calls",
+        logger.info("Analysis complete: {} classes, {} methods, {} calls ({} pooled strings)",
                 result.getClasses().size(),
                 result.getMethods().size(),
-                result.getMethodCalls().size());
+                result.getMethodCalls().size(),
+                StringPool.size());
+
+        return result;
+    }
+
+    /**
+     * Build the call chain of a single target without parsing every service. Only the files
+     * declaring the target are parsed first; then, until nothing new is needed, calls are
+     * resolved, followed from the target, and the files of every class the reachable code looks
+     * up (field types, call scopes, implementations of called Dubbo interfaces) are parsed.
+     * All files named like a looked-up class are loaded, so resolution picks the same classes
+     * as a full analysis, provided classes are declared in files of the same name.
+     *
+     * @param target an HTTP endpoint such as "GET /api/orders/{id}" or "/api/orders/{id}",
+     *               or a method such as "com.example.OrderController.getOrder" or
+     *               "OrderController.getOrder"
+     * @throws IllegalArgumentException if no method matches the target
+     */
+    public AnalysisResult analyzeTarget(List<String> servicePaths, String target) {
+        logger.info("Starting targeted analysis of {} in {} services", target, servicePaths.size());
+
+        AnalysisResult result = new AnalysisResult();
+        result.getMetadata().setProjectName("multi-service-analysis");
+        performance = new PerformanceMetrics(threads);
+        StringPool.clear();
+        sources = null;
+        if (idGenerator.isDeterministic()) {
+            result.getMetadata().setAnalysisTime(null);
+        } else {
+            result.getMetadata().setPerformance(performance);
+        }
+
+        // Step 1: Scan services and index their files by class name, without parsing
+        PhaseTimer timer = PhaseTimer.start("scan");
+        List<ServiceInfo> services = projectScanner.scanServices(servicePaths);
+        result.setServices(services);
+        result.getMetadata().setTotalServices(services.size());
+        SourceIndex index = new SourceIndex();
+        for (ServiceInfo service : services) {
+            for (Path javaFile : projectScanner.findJavaFiles(service)) {
+                index.add(service, javaFile);
+            }
+        }
+        recordPhase(timer.stop(index.size(), 0));
+
+        // Step 2: Parse the files declaring the target, then the files the reachable code needs
+        timer = PhaseTimer.start("parse");
+        Map<Path, List<ParsedClass>> loaded = new HashMap<>();
+        List<EntryPointIndex.EntryPoint> targets = findTargets(target, index, loaded);
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("No method matches target: " + target);
+        }
+        int rounds = 0;
+        while (true) {
+            rounds++;
+            List<ParsedClass> parsedClasses = assembleLoaded(result, loaded, index);
+            Set<Path> needed = neededFiles(result, parsedClasses, targets, index, loaded);
+            if (needed.isEmpty()) {
+                break;
+            }
+            for (Path javaFile : needed) {
+                loaded.put(javaFile, parseLoaded(javaFile, index));
+            }
+        }
+        recordPhase(timer.stop(loaded.size(), result.getMethodCalls().size()));
+        recordPrefilter();
+        logger.info("Targeted analysis parsed {} of {} files in {} rounds", loaded.size(), index.size(), rounds);
 
+        // Step 3: Build the call chains of the matched targets
+        timer = PhaseTimer.start("callChains");
+        condenseCallGraph(result);
+        entryPointIndex = EntryPointIndex.build(result, methodCallAnalyzer);
+        buildReachabilityIndex();
+        long chainNodes = 0;
+        for (CallChain chain : traverseEntryPoints(targets)) {
+            result.addCallChain(chain);
+            chainNodes += chain.getChain().size();
+        }
+        recordPhase(timer.stop(0, chainNodes));
+
+        result.getMetadata().setTotalClasses(result.getClasses().size());
+        result.getMetadata().setTotalMethods(result.getMethods().size());
         return result;
     }
 
     /**
-     * Analyze a single service
+     * Parse the candidate files of a target and return the matching methods as entry points.
+     * Files with a match are added to loaded.
      */
-    private void analyzeService(ServiceInfo service, AnalysisResult result) {
+    private List<EntryPointIndex.EntryPoint> findTargets(String target, SourceIndex index,
+                                                         Map<Path, List<ParsedClass>> loaded) {
+        String spec = target.trim();
+        int slash = spec.indexOf('/');
+        String httpMethod = slash >= 0 ? spec.substring(0, slash).trim().toUpperCase() : null;
+        String httpPath = slash >= 0 ? spec.substring(slash) : null;
+        String className = null;
+        String methodName = null;
+        List<Path> candidates;
+        if (httpPath != null) {
+            // Literal path segments appear in the class or method mapping
+            List<String> needles = new ArrayList<>();
+            needles.add("Mapping");
+            for (String segment : httpPath.split("/")) {
+                if (!segment.isEmpty() && !segment.startsWith("{")) {
+                    needles.add(segment);
+                }
+            }
+            candidates = index.containing(needles.toArray(new String[0]));
+        } else {
+            int lastDot = spec.lastIndexOf('.');
+            if (lastDot <= 0) {
+                throw new IllegalArgumentException("Target must be an HTTP endpoint or Class.method: " + target);
+            }
+            className = spec.substring(0, lastDot);
+            methodName = spec.substring(lastDot + 1);
+            candidates = index.named(simpleName(className));
+        }
+
+        List<EntryPointIndex.EntryPoint> targets = new ArrayList<>();
+        for (Path javaFile : candidates) {
+            List<ParsedClass> fileClasses = parseLoaded(javaFile, index);
+            boolean matched = false;
+            for (ParsedClass parsedClass : fileClasses) {
+                ClassInfo classInfo = parsedClass.getClassInfo();
+                for (MethodInfo method : parsedClass.getMethods()) {
+                    EntryPointType type = methodCallAnalyzer.classifyEntryPoint(method, classInfo);
+                    boolean matches;
+                    if (httpPath != null) {
+                        String endpoint = type == EntryPointType.HTTP
+                                ? methodCallAnalyzer.extractHttpEndpoint(method, classInfo) : null;
+                        matches = endpoint != null && (httpMethod.isEmpty()
+                                ? endpoint.endsWith(" " + httpPath) || endpoint.equals(httpPath)
+                                : endpoint.equalsIgnoreCase(httpMethod + " " + httpPath));
+                    } else {
+                        matches = method.getMethodName().equals(methodName)
+                                && (classInfo.getQualifiedName().equals(className)
+                                || classInfo.getQualifiedName().endsWith("." + className));
+                    }
+                    if (matches) {
+                        targets.add(new EntryPointIndex.EntryPoint(method, classInfo, type));
+                        matched = true;
+                    }
+                }
+            }
+            if (matched) {
+                loaded.put(javaFile, fileClasses);
+            }
+        }
+        logger.info("Target {} matched {} methods in {} candidate files", target, targets.size(), candidates.size());
+        return targets;
+    }
+
+    private List<ParsedClass> parseLoaded(Path javaFile, SourceIndex index) {
+        List<ParsedClass> fileClasses = parseJavaFile(javaFile, index.serviceOf(javaFile));
+        return fileClasses != null ? fileClasses : Collections.emptyList();
+    }
+
+    /**
+     * Register the loaded files in scan order, resolve all their call sites and freeze the graph
+     *
+     * @return the loaded classes in scan order
+     */
+    private List<ParsedClass> assembleLoaded(AnalysisResult result, Map<Path, List<ParsedClass>> loaded,
+                                             SourceIndex index) {
+        List<Path> files = new ArrayList<>(loaded.keySet());
+        files.sort(Comparator.comparingInt(index::orderOf));
+        List<ParsedClass> parsedClasses = new ArrayList<>();
+        List<ClassInfo> classes = new ArrayList<>();
+        List<MethodInfo> methods = new ArrayList<>();
+        for (Path javaFile : files) {
+            for (ParsedClass parsedClass : loaded.get(javaFile)) {
+                parsedClasses.add(parsedClass);
+                classes.add(parsedClass.getClassInfo());
+                methods.addAll(parsedClass.getMethods());
+            }
+        }
+        result.setClasses(classes);
+        result.setMethods(methods);
+
+        List<MethodCall> methodCalls = new ArrayList<>();
+        for (ParsedClass parsedClass : parsedClasses) {
+            methodCalls.addAll(analyzeClassBody(parsedClass, result));
+        }
+        result.setMethodCalls(methodCalls);
+
+        dubboRegistry.clear();
+        dubboRegistry.buildFromClasses(classes);
+        buildCallGraph(result);
+        return parsedClasses;
+    }
+
+    /**
+     * Files not loaded yet that resolving the code reachable from the targets looks up: files
+     * named like the field types and call scopes of reachable classes, and the implementations
+     * of Dubbo interfaces called from reachable methods
+     */
+    private Set<Path> neededFiles(AnalysisResult result, List<ParsedClass> parsedClasses,
+                                  List<EntryPointIndex.EntryPoint> targets, SourceIndex index,
+                                  Map<Path, List<ParsedClass>> loaded) {
+        boolean[] reachable = new boolean[callGraph.getMethodCount()];
+        int[] queue = new int[callGraph.getMethodCount()];
+        int tail = 0;
+        for (EntryPointIndex.EntryPoint entryPoint : targets) {
+            int method = callGraph.indexOf(entryPoint.getMethod().getId());
+            if (method >= 0 && !reachable[method]) {
+                reachable[method] = true;
+                queue[tail++] = method;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int method = queue[head];
+            for (int e = callGraph.outStart(method); e < callGraph.outEnd(method); e++) {
+                int target = callGraph.outTarget(e);
+                if (!reachable[target]) {
+                    reachable[target] = true;
+                    queue[tail++] = target;
+                }
+            }
+        }
+
+        Set<String> classNames = new HashSet<>();
+        Set<Path> needed = new LinkedHashSet<>();
+        for (ParsedClass parsedClass : parsedClasses) {
+            boolean classReachable = false;
+            for (CallSite callSite : parsedClass.getCallSites()) {
+                int method = callGraph.indexOf(callSite.getSourceMethodId());
+                if (method >= 0 && reachable[method]) {
+                    classReachable = true;
+                    if (callSite.getScope() != null) {
+                        classNames.add(simpleName(callSite.getScope()));
+                    }
+                }
+            }
+            if (!classReachable) {
+                continue;
+            }
+            for (ClassDependency dependency : parsedClass.getClassInfo().getDependencies()) {
+                classNames.add(simpleName(dependency.getTargetQualifiedName()));
+            }
+            for (MethodInfo method : parsedClass.getMethods()) {
+                if (!reachable[callGraph.indexOf(method.getId())]) {
+                    continue;
+                }
+                for (MethodCall call : result.getOutgoingCalls(method.getId())) {
+                    String interfaceMethod = call.getTargetQualifiedMethod();
+                    if (call.getCallType() != CallType.RPC_METHOD_CALL || interfaceMethod == null
+                            || interfaceMethod.lastIndexOf('.') < 0) {
+                        continue;
+                    }
+                    // The Dubbo registry pairs an interface with the @DubboService class named <interface>Impl
+                    String interfaceName = simpleName(interfaceMethod.substring(0, interfaceMethod.lastIndexOf('.')));
+                    classNames.add(interfaceName + "Impl");
+                }
+            }
+        }
+        for (String className : classNames) {
+            for (Path javaFile : index.named(className)) {
+                if (!loaded.containsKey(javaFile)) {
+                    needed.add(javaFile);
+                }
+            }
+        }
+        return needed;
+    }
+
+    /**
+     * Per-phase timings of the last analysis, also when they are kept out of the metadata
+     */
+    public PerformanceMetrics getPerformance() {
+        return performance;
+    }
+
+    /**
+     * Strongly connected components of the call graph of the last analysis
+     */
+    public CallGraphCondensation getCondensation() {
+        return condensation;
+    }
+
+    /**
+     * Reachability of the last analysis, with all entry points as sources
+     */
+    public ReachabilityIndex getReachabilityIndex() {
+        return reachabilityIndex;
+    }
+
+    /**
+     * Entry points of the last analysis, of all types
+     */
+    public EntryPointIndex getEntryPointIndex() {
+        return entryPointIndex;
+    }
+
+    /**
+     * Choose the entry point types call chains are built from (default: HTTP endpoints)
+     */
+    public void setEntryPointTypes(Set<EntryPointType> entryPointTypes) {
+        this.entryPointTypes = EnumSet.copyOf(entryPointTypes);
+    }
+
+    /**
+     * Frozen call graph of the last analysis
+     */
+    public CallGraph getCallGraph() {
+        return callGraph;
+    }
+
+    private void recordPhase(PhaseMetrics phase) {
+        performance.addPhase(phase);
+        logger.info("Phase {}", phase);
+    }
+
+    /**
+     * Move the pre-filter counts of the files parsed since the last call into the metrics
+     */
+    private void recordPrefilter() {
+        performance.setFilesSkipped(performance.getFilesSkipped() + skippedFiles.getAndSet(0));
+        performance.setFilesDeclarationOnly(performance.getFilesDeclarationOnly() + declarationOnlyFiles.getAndSet(0));
+        logger.info("Pre-filter: {} files without classes skipped, {} files parsed for declarations only",
+                performance.getFilesSkipped(), performance.getFilesDeclarationOnly());
+    }
+
+    /**
+     * Parse all files of a single service and register their class and method declarations
+     *
+     * @return parsed classes in file order, to be handed to the body pass
+     */
+    private List<ParsedClass> declareService(ServiceInfo service, List<Path> javaFiles,
+                                             AnalysisResult result, ForkJoinPool pool) {
         logger.info("Analyzing service: {}", service.getName());
 
-        List<Path> javaFiles = projectScanner.findJavaFiles(service);
-        logger.info("Found {} Java files in {}", javaFiles.size(), service.getName());
+        List<ParsedClass> parsedClasses = new ArrayList<>();
+        if (pool == null) {
+            for (Path javaFile : javaFiles) {
+                try {
+                    List<ParsedClass> fileClasses = parseJavaFile(javaFile, service);
+                    if (sources != null) {
+                        sources.putFile(javaFile, fileClasses);
+                    }
+                    if (fileClasses != null) {
+                        declareClasses(fileClasses, result, parsedClasses);
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to analyze file {}: {}", javaFile, e.getMessage(), e);
+                }
+            }
+            return parsedClasses;
+        }
 
+        // Parse and extract declarations on the pool, register them in file order so the
+        // result is identical to the sequential run
+        List<ForkJoinTask<List<ParsedClass>>> tasks = new ArrayList<>(javaFiles.size());
         for (Path javaFile : javaFiles) {
+            tasks.add(pool.submit(() -> parseJavaFile(javaFile, service)));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
             try {
-                analyzeJavaFile(javaFile, service, result);
+                List<ParsedClass> fileClasses = tasks.get(i).join();
+                if (sources != null) {
+                    sources.putFile(javaFiles.get(i), fileClasses);
+                }
+                if (fileClasses != null) {
+                    declareClasses(fileClasses, result, parsedClasses);
+                }
             } catch (Exception e) {
-                logger.error("Failed to analyze file {}: {}", javaFile, e.getMessage(), e);
+                logger.error("Failed to analyze file {}: {}", javaFiles.get(i), e.getMessage(), e);
             }
         }
+        return parsedClasses;
     }
 
     /**
-     * Analyze a single Java file
+     * Parse a single Java file and extract its class declarations and call sites, or load
+     * them from the analysis cache if the file is unchanged.
+     * Does not touch the shared AnalysisResult, so it is safe to run concurrently.
+     *
+     * @return parsed classes of the file, or null if the file could not be parsed
      */
-    private void analyzeJavaFile(Path javaFile, ServiceInfo service, AnalysisResult result) {
+    private List<ParsedClass> parseJavaFile(Path javaFile, ServiceInfo service) {
+        CompilationUnit cu;
+        String cacheKey = null;
+        boolean declarationsOnly;
         try {
-            CompilationUnit cu = StaticJavaParser.parse(javaFile);
-
-            // Find all class declarations
-            cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
-                try {
-                    analyzeClass(cu, classDecl, service, javaFile, result);
-                } catch (Exception e) {
-                    logger.error("Failed to analyze class {}: {}",
-                            classDecl.getNameAsString(), e.getMessage());
+            byte[] content = Files.readAllBytes(javaFile);
+            if (analysisCache != null) {
+                cacheKey = analysisCache.key(service, javaFile, content);
+                List<ParsedClass> cached = analysisCache.get(cacheKey);
+                if (cached != null) {
+                    // Service IDs may be random and the checkout may have moved
+                    for (ParsedClass parsedClass : cached) {
+                        parsedClass.getClassInfo().setServiceId(service.getId());
+                        parsedClass.getClassInfo().setFilePath(javaFile.toString());
+                    }
+                    return cached;
                 }
-            });
-
+            }
+            SourcePrefilter prefilter = SourcePrefilter.scan(content);
+            if (prefilter.getKind() == SourcePrefilter.Kind.NO_CLASSES) {
+                skippedFiles.incrementAndGet();
+                return new ArrayList<>();
+            }
+            declarationsOnly = prefilter.getKind() == SourcePrefilter.Kind.DECLARATIONS_ONLY;
+            if (declarationsOnly) {
+                declarationOnlyFiles.incrementAndGet();
+                content = prefilter.declarationSource();
+            }
+            cu = StaticJavaParser.parse(new String(content, StandardCharsets.UTF_8));
         } catch (Exception e) {
             logger.error("Failed to parse file {}: {}", javaFile, e.getMessage());
+            return null;
         }
+
+        List<ParsedClass> parsedClasses = extractClasses(cu, service, javaFile, !declarationsOnly);
+        if (cacheKey != null) {
+            analysisCache.put(cacheKey, parsedClasses);
+        }
+        return parsedClasses;
+    }
+
+    /**
+     * Parse Java source text, e.g. a file at another commit, without consulting the cache
+     *
+     * @throws com.github.javaparser.ParseProblemException if the source does not parse
+     */
+    List<ParsedClass> parseSource(String source, Path javaFile, ServiceInfo service) {
+        return extractClasses(StaticJavaParser.parse(source), service, javaFile, true);
+    }
+
+    /**
+     * @param callSites whether to extract call sites; files without calls only need declarations
+     */
+    private List<ParsedClass> extractClasses(CompilationUnit cu, ServiceInfo service, Path javaFile,
+                                             boolean callSites) {
+        List<ParsedClass> parsedClasses = new ArrayList<>();
+
+        // Find all class declarations
+        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
+            try {
+                parsedClasses.add(extractClass(cu, classDecl, service, javaFile, callSites));
+            } catch (Exception e) {
+                logger.error("Failed to analyze class {}: {}",
+                        classDecl.getNameAsString(), e.getMessage());
+            }
+        });
+        return parsedClasses;
+    }
+
+    MethodCallAnalyzer getMethodCallAnalyzer() {
+        return methodCallAnalyzer;
     }
 
     /**
-     * Analyze a single class
+     * Extract class-level information, method declarations and call sites of a single class
      */
-    private void analyzeClass(CompilationUnit cu,
-                              ClassOrInterfaceDeclaration classDecl,
-                              ServiceInfo service,
-                              Path javaFile,
-                              AnalysisResult result) {
+    private ParsedClass extractClass(CompilationUnit cu,
+                                     ClassOrInterfaceDeclaration classDecl,
+                                     ServiceInfo service,
+                                     Path javaFile,
+                                     boolean extractCallSites) {
 
         // Create ClassInfo
         ClassInfo classInfo = new ClassInfo();
-        classInfo.setId(UUID.randomUUID().toString());
         classInfo.setServiceId(service.getId());
 
         // Get qualified name
@@ -130,6 +678,11 @@ public class CallChainEngine {
                 .map(pd -> pd.getNameAsString() + "." + classDecl.getNameAsString())
                 .orElse(classDecl.getNameAsString());
         classInfo.setQualifiedName(qualifiedName);
+
+        // Nested classes are keyed by their outer class, local classes by their position
+        String idKey = classDecl.getFullyQualifiedName()
+                .orElseGet(() -> qualifiedName + "@" + classDecl.getBegin().map(pos -> pos.line).orElse(0));
+        classInfo.setId(idGenerator.classId(service.getId(), idKey));
         classInfo.setFilePath(javaFile.toString());
 
         // Determine class type
@@ -144,14 +697,14 @@ public class CallChainEngine {
         List<ClassDependency> dependencies = classDependencyAnalyzer.analyzeDependencies(cu, classDecl);
         classInfo.setDependencies(dependencies);
 
-        result.addClass(classInfo);
-        logger.debug("Analyzed class: {} ({})", qualifiedName, classType);
-
-        // Extract and analyze methods
+        // Extract methods
         List<MethodInfo> methods = methodCallAnalyzer.extractMethods(classDecl, classInfo.getId());
-        methods.forEach(result::addMethod);
 
-        // Analyze method calls in each method
+        // Extract call sites in each method
+        List<CallSite> callSites = new ArrayList<>();
+        if (!extractCallSites) {
+            return new ParsedClass(classInfo, methods, callSites);
+        }
         classDecl.getMethods().forEach(methodDecl -> {
             String methodSignature = methodDecl.getDeclarationAsString(false, false, false);
             MethodInfo methodInfo = methods.stream()
@@ -160,127 +713,507 @@ public class CallChainEngine {
                     .orElse(null);
 
             if (methodInfo != null) {
-                List<MethodCall> calls = methodCallAnalyzer.analyzeMethodCalls(
-                        methodDecl, methodInfo.getId(), classInfo, result);
-                calls.forEach(result::addMethodCall);
+                callSites.addAll(methodCallAnalyzer.extractCallSites(methodDecl, methodInfo.getId()));
             }
         });
+
+        return new ParsedClass(classInfo, methods, callSites);
     }
 
     /**
-     * Build call chains from entry points (Controllers)
+     * Register the classes and methods of a parsed file in the result and index its entry points
      */
-    private void buildCallChains(AnalysisResult result) {
-        logger.info("Building call chains from entry points");
-
-        int chainCount = 0;
-        for (ClassInfo classInfo : result.getClasses()) {
-            if (classInfo.getType() == ClassType.CONTROLLER) {
-                for (MethodInfo method : result.getMethods()) {
-                    if (method.getClassId().equals(classInfo.getId()) &&
-                        methodCallAnalyzer.isHttpEndpoint(method)) {
-
-                        CallChain chain = buildCallChain(method, classInfo, result);
-                        if (chain != null) {
-                            result.addCallChain(chain);
-                            chainCount++;
-                        }
+    private void declareClasses(List<ParsedClass> fileClasses, AnalysisResult result, List<ParsedClass> parsedClasses) {
+        for (ParsedClass parsedClass : fileClasses) {
+            ClassInfo classInfo = parsedClass.getClassInfo();
+            result.addClass(classInfo);
+            for (MethodInfo method : parsedClass.getMethods()) {
+                result.addMethod(method);
+                entryPointIndex.add(method, classInfo, methodCallAnalyzer.classifyEntryPoint(method, classInfo));
+            }
+            parsedClasses.add(parsedClass);
+            logger.debug("Declared class: {} ({})",
+                    parsedClass.getClassInfo().getQualifiedName(), parsedClass.getClassInfo().getType());
+        }
+    }
+
+    /**
+     * Body pass: resolve the call sites of all classes against the complete declaration table.
+     * Each class only reads the result, so classes are resolved concurrently when a pool is
+     * given; calls are added in class order to keep the output deterministic.
+     */
+    private void analyzeMethodBodies(List<ParsedClass> parsedClasses, AnalysisResult result, ForkJoinPool pool) {
+        logger.info("Analyzing method bodies of {} classes", parsedClasses.size());
+
+        if (pool == null) {
+            for (ParsedClass parsedClass : parsedClasses) {
+                addClassCalls(parsedClass, analyzeClassBody(parsedClass, result), result);
+            }
+            return;
+        }
+
+        List<ForkJoinTask<List<MethodCall>>> tasks = new ArrayList<>(parsedClasses.size());
+        for (ParsedClass parsedClass : parsedClasses) {
+            tasks.add(pool.submit(() -> analyzeClassBody(parsedClass, result)));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            addClassCalls(parsedClasses.get(i), tasks.get(i).join(), result);
+        }
+    }
+
+    private void addClassCalls(ParsedClass parsedClass, List<MethodCall> classCalls, AnalysisResult result) {
+        classCalls.forEach(result::addMethodCall);
+        if (sources != null) {
+            sources.putCalls(parsedClass, classCalls);
+        }
+    }
+
+    /**
+     * Resolve the call sites of a single class
+     */
+    private List<MethodCall> analyzeClassBody(ParsedClass parsedClass, AnalysisResult result) {
+        List<MethodCall> classCalls = new ArrayList<>(parsedClass.getCallSites().size());
+        for (CallSite callSite : parsedClass.getCallSites()) {
+            MethodCall methodCall = methodCallAnalyzer.resolveCallSite(callSite, parsedClass.getClassInfo(), result);
+            if (methodCall != null) {
+                classCalls.add(methodCall);
+            }
+        }
+        return classCalls;
+    }
+
+    /**
+     * Rebuild the Dubbo registry and all call chains of an already resolved result,
+     * e.g. one loaded from a snapshot
+     */
+    public void rebuildCallChains(AnalysisResult result) {
+        indexResult(result);
+        result.setCallChains(new ArrayList<>());
+        buildCallChains(result);
+    }
+
+    /**
+     * Rebuild the Dubbo registry, call graph, entry point and reachability indexes of an
+     * already resolved result, keeping its call chains
+     */
+    public void indexResult(AnalysisResult result) {
+        indexResult(result, null);
+    }
+
+    /**
+     * Index an already resolved result, reusing a stored reachability index, e.g. from its
+     * snapshot, if it matches the rebuilt call graph. A missing or stale index is rebuilt.
+     */
+    public void indexResult(AnalysisResult result, ReachabilityIndex storedReachability) {
+        dubboRegistry.clear();
+        dubboRegistry.buildFromClasses(result.getClasses());
+        buildCallGraph(result);
+        condenseCallGraph(result);
+        entryPointIndex = EntryPointIndex.build(result, methodCallAnalyzer);
+        if (storedReachability != null && storedReachability.matches(callGraph, condensation)) {
+            reachabilityIndex = storedReachability;
+            logger.info("Reusing stored reachability index: {}", reachabilityIndex);
+        } else {
+            if (storedReachability != null) {
+                logger.warn("Stored reachability index does not match the call graph, rebuilding it");
+            }
+            buildReachabilityIndex();
+        }
+    }
+
+    /**
+     * Patch the result of the last incremental analysis after source files changed.
+     * Only the touched files are parsed again; call sites are re-resolved in those files and
+     * in classes that look up a class with the simple name of a changed class. The Dubbo
+     * registry and graph indexes are rebuilt, and only the call chains whose entry point
+     * reached a changed method are traversed again.
+     *
+     * @param changedPaths created, modified or deleted Java files and directories; a directory
+     *                     makes its service rescan its file list
+     * @return per-phase timings of the update
+     */
+    public PerformanceMetrics update(AnalysisResult result, Collection<Path> changedPaths) {
+        if (sources == null) {
+            throw new IllegalStateException("update() requires a preceding incremental analysis");
+        }
+        performance = new PerformanceMetrics(threads);
+        StringPool.clear();
+        if (!idGenerator.isDeterministic()) {
+            result.getMetadata().setAnalysisTime(LocalDateTime.now());
+            result.getMetadata().setPerformance(performance);
+        }
+
+        // Step 1: Parse touched files again and reassemble the declarations in file order
+        PhaseTimer timer = PhaseTimer.start("parse");
+        List<ParsedClass> removed = new ArrayList<>();
+        Set<ParsedClass> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        int parsedFiles = 0;
+        for (ServiceInfo service : result.getServices()) {
+            Path sourceRoot = projectScanner.sourceRoot(service);
+            Set<Path> touched = new HashSet<>();
+            boolean layoutChanged = false;
+            for (Path path : changedPaths) {
+                if (path.startsWith(sourceRoot)) {
+                    touched.add(path);
+                    layoutChanged |= !sources.isKnown(path) || !Files.isRegularFile(path);
+                }
+            }
+            if (touched.isEmpty()) {
+                continue;
+            }
+
+            List<Path> previousFiles = sources.getFiles(service);
+            List<Path> files = layoutChanged ? projectScanner.findJavaFiles(service) : previousFiles;
+            if (layoutChanged) {
+                Set<Path> current = new HashSet<>(files);
+                for (Path file : previousFiles) {
+                    if (!current.contains(file)) {
+                        removed.addAll(sources.removeFile(file));
                     }
                 }
+                sources.setFiles(service, files);
             }
+            for (Path file : files) {
+                if (touched.contains(file) || !sources.isKnown(file)) {
+                    removed.addAll(sources.removeFile(file));
+                    List<ParsedClass> fileClasses = parseJavaFile(file, service);
+                    sources.putFile(file, fileClasses);
+                    if (fileClasses != null) {
+                        added.addAll(fileClasses);
+                    }
+                    parsedFiles++;
+                }
+            }
+        }
+
+        List<ParsedClass> parsedClasses = sources.parsedClasses(result.getServices());
+        List<ClassInfo> classes = new ArrayList<>(parsedClasses.size());
+        List<MethodInfo> methods = new ArrayList<>(result.getMethods().size());
+        for (ParsedClass parsedClass : parsedClasses) {
+            classes.add(parsedClass.getClassInfo());
+            methods.addAll(parsedClass.getMethods());
         }
+        result.setClasses(classes);
+        result.setMethods(methods);
+        long callSites = 0;
+        for (ParsedClass parsedClass : added) {
+            callSites += parsedClass.getCallSites().size();
+        }
+        recordPhase(timer.stop(parsedFiles, callSites));
+        recordPrefilter();
 
-        logger.info("Built {} call chains", chainCount);
+        // Step 2: Resolve the call sites of changed classes and of classes that may refer to them
+        timer = PhaseTimer.start("resolve");
+        Set<String> changedNames = new HashSet<>();
+        for (ParsedClass parsedClass : removed) {
+            changedNames.add(parsedClass.getClassInfo().getClassName());
+        }
+        for (ParsedClass parsedClass : added) {
+            changedNames.add(parsedClass.getClassInfo().getClassName());
+        }
+        int resolvedClasses = 0;
+        long resolvedCalls = 0;
+        List<MethodCall> methodCalls = new ArrayList<>(result.getMethodCalls().size());
+        for (ParsedClass parsedClass : parsedClasses) {
+            if (added.contains(parsedClass) || refersTo(parsedClass, changedNames)) {
+                List<MethodCall> classCalls = analyzeClassBody(parsedClass, result);
+                sources.putCalls(parsedClass, classCalls);
+                resolvedClasses++;
+                resolvedCalls += classCalls.size();
+            }
+            methodCalls.addAll(sources.getCalls(parsedClass));
+        }
+        result.setMethodCalls(methodCalls);
+        recordPhase(timer.stop(parsedFiles, resolvedCalls));
+
+        // Step 3: Rebuild the Dubbo registry, call graph and indexes
+        timer = PhaseTimer.start("index");
+        CallGraph previousGraph = callGraph;
+        indexResult(result);
+        recordPhase(timer.stop(0, callGraph.getEdgeCount()));
+
+        // Step 4: Traverse again only from entry points that reached a changed method
+        timer = PhaseTimer.start("callChains");
+        boolean[] affected = reachersOfChanges(previousGraph, removed, added);
+        Map<String, CallChain> previousChains = new HashMap<>();
+        for (CallChain chain : result.getCallChains()) {
+            previousChains.put(chain.getEntryPoint().getMethodId(), chain);
+        }
+        List<EntryPointIndex.EntryPoint> entryPoints = entryPointIndex.select(entryPointTypes);
+        List<EntryPointIndex.EntryPoint> stale = new ArrayList<>();
+        for (EntryPointIndex.EntryPoint entryPoint : entryPoints) {
+            String methodId = entryPoint.getMethod().getId();
+            int previous = previousGraph.indexOf(methodId);
+            if (!previousChains.containsKey(methodId) || previous < 0 || affected[previous]) {
+                stale.add(entryPoint);
+            }
+        }
+        List<CallChain> rebuilt = traverseEntryPoints(stale);
+        List<CallChain> chains = new ArrayList<>(entryPoints.size());
+        long chainNodes = 0;
+        int next = 0;
+        for (EntryPointIndex.EntryPoint entryPoint : entryPoints) {
+            if (next < stale.size() && stale.get(next) == entryPoint) {
+                CallChain chain = rebuilt.get(next++);
+                chainNodes += chain.getChain().size();
+                chains.add(chain);
+            } else {
+                // Reused chains must not keep earlier graphs alive
+                CallChain chain = previousChains.get(entryPoint.getMethod().getId());
+                if (chain.getChain() instanceof ChainNodeList) {
+                    chain.setChain(((ChainNodeList) chain.getChain()).rebind(callGraph));
+                }
+                chains.add(chain);
+            }
+        }
+        result.setCallChains(chains);
+        recordPhase(timer.stop(0, chainNodes));
+
+        result.getMetadata().setTotalClasses(result.getClasses().size());
+        result.getMetadata().setTotalMethods(result.getMethods().size());
+        logger.info("Update complete: {} files parsed, {} classes resolved, {} of {} call chains rebuilt",
+                parsedFiles, resolvedClasses, stale.size(), chains.size());
+        return performance;
     }
 
     /**
-     * Build a single call chain starting from an entry point
+     * Whether resolving the call sites of a class looks up a class with one of the given
+     * simple names, through a field type or the scope of a call
      */
-    private CallChain buildCallChain(MethodInfo entryMethod, ClassInfo entryClass, AnalysisResult result) {
-        CallChain chain = new CallChain(UUID.randomUUID().toString());
+    private static boolean refersTo(ParsedClass parsedClass, Set<String> simpleNames) {
+        for (ClassDependency dependency : parsedClass.getClassInfo().getDependencies()) {
+            if (simpleNames.contains(simpleName(dependency.getTargetQualifiedName()))) {
+                return true;
+            }
+        }
+        for (CallSite callSite : parsedClass.getCallSites()) {
+            if (simpleNames.contains(simpleName(callSite.getScope()))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        // Create entry point
-        CallChain.CallChainNode entryNode = new CallChain.CallChainNode(
-                0, entryMethod.getId(), entryClass.getId(), entryClass.getServiceId());
-        String httpEndpoint = methodCallAnalyzer.extractHttpEndpoint(entryMethod, entryClass);
-        entryNode.setHttpEndpoint(httpEndpoint);
-        chain.setEntryPoint(entryNode);
-        chain.addNode(entryNode);
-        chain.addInvolvedService(entryClass.getServiceId());
+    private static String simpleName(String typeName) {
+        return typeName != null ? typeName.substring(typeName.lastIndexOf('.') + 1) : null;
+    }
 
-        // Recursively build chain
-        buildCallChainRecursive(entryMethod.getId(), entryClass.getServiceId(), 1, chain, result, new HashSet<>());
+    /**
+     * Mark the methods of the previous call graph that reach a changed method: a method of a
+     * re-parsed or removed class, or a method whose outgoing edges differ in the new graph.
+     * Chains of unmarked entry points cover an unchanged subgraph and can be kept.
+     */
+    private boolean[] reachersOfChanges(CallGraph previousGraph, List<ParsedClass> removed, Set<ParsedClass> added) {
+        boolean[] marked = new boolean[previousGraph.getMethodCount()];
+        int[] queue = new int[previousGraph.getMethodCount()];
+        int tail = 0;
+        List<ParsedClass> changedClasses = new ArrayList<>(removed);
+        changedClasses.addAll(added);
+        for (ParsedClass parsedClass : changedClasses) {
+            for (MethodInfo method : parsedClass.getMethods()) {
+                int previous = previousGraph.indexOf(method.getId());
+                if (previous >= 0 && !marked[previous]) {
+                    marked[previous] = true;
+                    queue[tail++] = previous;
+                }
+            }
+        }
+        for (int previous = 0; previous < previousGraph.getMethodCount(); previous++) {
+            int current = callGraph.indexOf(previousGraph.getMethodId(previous));
+            if (!marked[previous] && (current < 0 || !sameOutEdges(previousGraph, previous, current))) {
+                marked[previous] = true;
+                queue[tail++] = previous;
+            }
+        }
 
-        chain.setMaxDepth(chain.getChain().size());
-        chain.setCrossService(chain.getInvolvedServices().size() > 1);
+        for (int head = 0; head < tail; head++) {
+            int method = queue[head];
+            for (int e = previousGraph.inStart(method); e < previousGraph.inEnd(method); e++) {
+                int caller = previousGraph.inSource(e);
+                if (!marked[caller]) {
+                    marked[caller] = true;
+                    queue[tail++] = caller;
+                }
+            }
+        }
+        return marked;
+    }
 
-        return chain;
+    private boolean sameOutEdges(CallGraph previousGraph, int previous, int current) {
+        int p = previousGraph.outStart(previous);
+        int c = callGraph.outStart(current);
+        if (previousGraph.outEnd(previous) - p != callGraph.outEnd(current) - c) {
+            return false;
+        }
+        for (; p < previousGraph.outEnd(previous); p++, c++) {
+            if (previousGraph.outCallType(p) != callGraph.outCallType(c)
+                    || previousGraph.isOutCrossService(p) != callGraph.isOutCrossService(c)
+                    || !previousGraph.getMethodId(previousGraph.outTarget(p))
+                    .equals(callGraph.getMethodId(callGraph.outTarget(c)))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Recursively build call chain with cross-service support
+     * Freeze the method calls of the result, resolving RPC calls through the Dubbo registry
      */
-    private void buildCallChainRecursive(String currentMethodId,
-                                         String currentServiceId,
-                                         int level,
-                                         CallChain chain,
-                                         AnalysisResult result,
-                                         Set<String> visited) {
-        // Prevent infinite recursion
-        if (visited.contains(currentMethodId) || level > 20) {
-            return;
+    private void buildCallGraph(AnalysisResult result) {
+        callGraph = CallGraph.build(result, call -> {
+            MethodInfo targetMethod = resolveDubboMethod(call.getTargetQualifiedMethod(), result);
+            if (targetMethod == null) {
+                logger.debug("Could not resolve RPC call target: {}", call.getTargetQualifiedMethod());
+            }
+            return targetMethod;
+        });
+        logger.info("Call graph: {} methods, {} edges", callGraph.getMethodCount(), callGraph.getEdgeCount());
+    }
+
+    /**
+     * Condense the call graph and report its recursion clusters, in order of their first method
+     */
+    private void condenseCallGraph(AnalysisResult result) {
+        condensation = CallGraphCondensation.of(callGraph);
+        List<RecursionCluster> clusters = new ArrayList<>();
+        boolean[] reported = new boolean[condensation.getComponentCount()];
+        for (int method = 0; method < callGraph.getMethodCount(); method++) {
+            int component = condensation.componentOf(method);
+            if (!condensation.isRecursive(component) || reported[component]) {
+                continue;
+            }
+            reported[component] = true;
+            RecursionCluster cluster = new RecursionCluster(idGenerator.recursionClusterId(callGraph.getMethodId(method)));
+            for (int i = condensation.memberStart(component); i < condensation.memberEnd(component); i++) {
+                int member = condensation.member(i);
+                cluster.addMethodId(callGraph.getMethodId(member));
+                ClassInfo memberClass = callGraph.getMethodClass(member);
+                if (memberClass != null) {
+                    cluster.addInvolvedService(memberClass.getServiceId());
+                }
+            }
+            clusters.add(cluster);
         }
-        visited.add(currentMethodId);
-
-        // Find all calls from current method
-        for (MethodCall call : result.getMethodCalls()) {
-            if (call.getSourceMethodId().equals(currentMethodId)) {
-
-                if (call.getCallType() == CallType.RPC_METHOD_CALL && call.isCrossService()) {
-                    // Handle RPC call - try to resolve target method in another service
-                    MethodInfo targetMethod = resolveDubboMethod(call.getTargetQualifiedMethod(), result);
-
-                    if (targetMethod != null) {
-                        ClassInfo targetClass = result.getClassById(targetMethod.getClassId());
-                        if (targetClass != null) {
-                            logger.debug("Resolved RPC call to: {}.{} in service: {}",
-                                    targetClass.getClassName(), targetMethod.getMethodName(),
-                                    targetClass.getServiceId());
-
-                            CallChain.CallChainNode node = new CallChain.CallChainNode(
-                                    level, targetMethod.getId(), targetClass.getId(), targetClass.getServiceId());
-                            node.setCallType(call.getCallType());
-                            chain.addNode(node);
-                            chain.addInvolvedService(targetClass.getServiceId());
-
-                            // Continue recursively in target service
-                            buildCallChainRecursive(targetMethod.getId(), targetClass.getServiceId(),
-                                    level + 1, chain, result, visited);
-                        }
-                    } else {
-                        logger.debug("Could not resolve RPC call target: {}", call.getTargetQualifiedMethod());
-                    }
+        result.setRecursionClusters(clusters);
+        logger.info("Condensed call graph: {} components, {} DAG edges, {} recursion clusters",
+                condensation.getComponentCount(), condensation.getDagEdgeCount(), clusters.size());
+    }
 
-                } else if (call.getTargetMethodId() != null) {
-                    // Internal call - continue as before
-                    MethodInfo targetMethod = result.getMethodById(call.getTargetMethodId());
-                    if (targetMethod != null) {
-                        ClassInfo targetClass = result.getClassById(targetMethod.getClassId());
-                        if (targetClass != null) {
-                            CallChain.CallChainNode node = new CallChain.CallChainNode(
-                                    level, targetMethod.getId(), targetClass.getId(), targetClass.getServiceId());
-                            node.setCallType(call.getCallType());
-                            chain.addNode(node);
-                            chain.addInvolvedService(targetClass.getServiceId());
-
-                            // Continue recursively
-                            buildCallChainRecursive(targetMethod.getId(), targetClass.getServiceId(),
-                                    level + 1, chain, result, visited);
-                        }
-                    }
+    /**
+     * Index the closure of every entry point, of all types, over the condensed call graph
+     */
+    private void buildReachabilityIndex() {
+        boolean[] seen = new boolean[callGraph.getMethodCount()];
+        int[] sources = new int[entryPointIndex.size()];
+        int count = 0;
+        for (EntryPointIndex.EntryPoint entryPoint : entryPointIndex.getEntryPoints()) {
+            int method = callGraph.indexOf(entryPoint.getMethod().getId());
+            if (method >= 0 && !seen[method]) {
+                seen[method] = true;
+                sources[count++] = method;
+            }
+        }
+        reachabilityIndex = ReachabilityIndex.build(callGraph, condensation, Arrays.copyOf(sources, count));
+        logger.info("Reachability index: {}", reachabilityIndex);
+    }
+
+    /**
+     * Build call chains from the indexed entry points of the selected types.
+     * Chains of different entry points are independent, so they are built concurrently when
+     * more than one thread is configured; each worker thread reuses its own traversal state,
+     * memoized sub-chains are shared. Chains are added in entry point order.
+     */
+    private void buildCallChains(AnalysisResult result) {
+        List<EntryPointIndex.EntryPoint> entryPoints = entryPointIndex.select(entryPointTypes);
+        logger.info("Building call chains from {} entry points ({})", entryPoints.size(), entryPointTypes);
+
+        int truncated = 0;
+        for (CallChain chain : traverseEntryPoints(entryPoints)) {
+            if (chain != null) {
+                result.addCallChain(chain);
+                if (chain.getBudgetExceeded() != null) {
+                    truncated++;
+                }
+            }
+        }
+        if (truncated > 0) {
+            logger.warn("{} call chains were cut short by a traversal budget", truncated);
+        }
+    }
+
+    /**
+     * Build the call chains of the given entry points, in the same order
+     */
+    private List<CallChain> traverseEntryPoints(List<EntryPointIndex.EntryPoint> entryPoints) {
+        AtomicReferenceArray<SubChain> memo = new AtomicReferenceArray<>(callGraph.getMethodCount());
+        Queue<ChainTraversal> traversals = new ConcurrentLinkedQueue<>();
+        ThreadLocal<ChainTraversal> workerTraversal = ThreadLocal.withInitial(() -> {
+            ChainTraversal traversal = new ChainTraversal(callGraph, chainLimits, memo);
+            traversals.add(traversal);
+            return traversal;
+        });
+
+        int workers = Math.min(threads, entryPoints.size());
+        List<CallChain> chains = new ArrayList<>(entryPoints.size());
+        if (workers <= 1) {
+            for (EntryPointIndex.EntryPoint entryPoint : entryPoints) {
+                chains.add(buildCallChain(entryPoint, workerTraversal.get()));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                List<ForkJoinTask<CallChain>> tasks = new ArrayList<>(entryPoints.size());
+                for (EntryPointIndex.EntryPoint entryPoint : entryPoints) {
+                    tasks.add(pool.submit(() -> buildCallChain(entryPoint, workerTraversal.get())));
+                }
+                for (ForkJoinTask<CallChain> task : tasks) {
+                    chains.add(task.join());
                 }
+            } finally {
+                pool.shutdown();
             }
         }
+
+        long splices = 0;
+        for (ChainTraversal traversal : traversals) {
+            splices += traversal.getSplices();
+        }
+        logger.info("Built {} call chains on {} threads, {} shared sub-chains spliced",
+                chains.size(), Math.max(1, workers), splices);
+        return chains;
+    }
+
+    /**
+     * Build a single call chain starting from an entry point
+     */
+    private CallChain buildCallChain(EntryPointIndex.EntryPoint entryPoint, ChainTraversal traversal) {
+        MethodInfo entryMethod = entryPoint.getMethod();
+        ClassInfo entryClass = entryPoint.getClassInfo();
+        CallChain chain = new CallChain(idGenerator.callChainId(entryMethod.getId()));
+        chain.setEntryPointType(entryPoint.getType());
+
+        // Create entry point
+        CallChain.CallChainNode entryNode = new CallChain.CallChainNode(
+                0, entryMethod.getId(), entryClass.getId(), entryClass.getServiceId());
+        if (entryPoint.getType() == EntryPointType.HTTP) {
+            entryNode.setHttpEndpoint(methodCallAnalyzer.extractHttpEndpoint(entryMethod, entryClass));
+        }
+        chain.setEntryPoint(entryNode);
+        chain.addInvolvedService(entryClass.getServiceId());
+
+        // Follow the call graph; RPC edges already point at the implementation in the target service
+        int entry = callGraph.indexOf(entryMethod.getId());
+        if (entry >= 0) {
+            chain.setBudgetExceeded(traversal.traverse(entry, chain));
+            chain.setRecursive(condensation.reachesRecursion(condensation.componentOf(entry)));
+        } else {
+            chain.addNode(entryNode);
+        }
+
+        chain.setMaxDepth(chain.getChain().size());
+        chain.setCrossService(chain.getInvolvedServices().size() > 1);
+
+        return chain;
     }
 
     /**
@@ -320,9 +1253,8 @@ public class CallChainEngine {
         }
 
         // Find matching method by name
-        for (MethodInfo method : result.getMethods()) {
-            if (method.getClassId().equals(implClass.getId()) &&
-                method.getMethodName().equals(methodName)) {
+        for (MethodInfo method : result.getMethodsByClassId(implClass.getId())) {
+            if (method.getMethodName().equals(methodName)) {
                 return method;
             }
         }
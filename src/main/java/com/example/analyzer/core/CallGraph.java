@@ -0,0 +1,224 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Frozen, index-based view of the resolved call graph.
+ *
+ * Methods are numbered densely in result order. Outgoing and incoming edges are stored in
+ * compressed sparse row form: the edges of method m occupy [offsets[m], offsets[m + 1]) of
+ * the target (or source) array, with call type and cross-service flag in parallel arrays.
+ * RPC calls are stored with their resolved implementation method as target; calls without a
+ * resolvable target are left out. Outgoing edges keep the order of AnalysisResult.getMethodCalls().
+ * Traversals only read int arrays, so they do not allocate.
+ */
+public final class CallGraph {
+    private static final CallType[] CALL_TYPES = CallType.values();
+
+    private final MethodInfo[] methods;
+    private final ClassInfo[] methodClasses;
+    private final Map<String, Integer> methodIndex;
+
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final byte[] outTypes;
+    private final boolean[] outCrossService;
+
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final byte[] inTypes;
+    private final boolean[] inCrossService;
+
+    private CallGraph(MethodInfo[] methods, ClassInfo[] methodClasses, Map<String, Integer> methodIndex,
+                      int[] outOffsets, int[] outTargets, byte[] outTypes, boolean[] outCrossService,
+                      int[] inOffsets, int[] inSources, byte[] inTypes, boolean[] inCrossService) {
+        this.methods = methods;
+        this.methodClasses = methodClasses;
+        this.methodIndex = methodIndex;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outTypes = outTypes;
+        this.outCrossService = outCrossService;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inTypes = inTypes;
+        this.inCrossService = inCrossService;
+    }
+
+    /**
+     * Freeze the method calls of a result into a graph
+     *
+     * @param rpcResolver resolves the implementation method of a cross-service RPC call, or null
+     */
+    public static CallGraph build(AnalysisResult result, Function<MethodCall, MethodInfo> rpcResolver) {
+        List<MethodInfo> methodList = result.getMethods();
+        int n = methodList.size();
+        MethodInfo[] methods = methodList.toArray(new MethodInfo[0]);
+        ClassInfo[] methodClasses = new ClassInfo[n];
+        Map<String, Integer> methodIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            methodIndex.put(methods[i].getId(), i);
+            methodClasses[i] = result.getClassById(methods[i].getClassId());
+        }
+
+        // Resolve every call to a (source, target) pair, in call order
+        List<MethodCall> calls = result.getMethodCalls();
+        int[] sources = new int[calls.size()];
+        int[] targets = new int[calls.size()];
+        MethodCall[] edgeCalls = new MethodCall[calls.size()];
+        int m = 0;
+        for (MethodCall call : calls) {
+            Integer source = methodIndex.get(call.getSourceMethodId());
+            if (source == null) {
+                continue;
+            }
+            Integer target = null;
+            if (call.getCallType() == CallType.RPC_METHOD_CALL && call.isCrossService()) {
+                MethodInfo targetMethod = rpcResolver != null ? rpcResolver.apply(call) : null;
+                if (targetMethod != null) {
+                    target = methodIndex.get(targetMethod.getId());
+                }
+            } else if (call.getTargetMethodId() != null) {
+                target = methodIndex.get(call.getTargetMethodId());
+            }
+            if (target == null) {
+                continue;
+            }
+            sources[m] = source;
+            targets[m] = target;
+            edgeCalls[m] = call;
+            m++;
+        }
+
+        // Counting sort by source (outgoing) and by target (incoming); both are stable
+        int[] outOffsets = offsets(sources, m, n);
+        int[] inOffsets = offsets(targets, m, n);
+        int[] outTargets = new int[m];
+        byte[] outTypes = new byte[m];
+        boolean[] outCrossService = new boolean[m];
+        int[] inSources = new int[m];
+        byte[] inTypes = new byte[m];
+        boolean[] inCrossService = new boolean[m];
+        int[] outNext = new int[n];
+        int[] inNext = new int[n];
+        System.arraycopy(outOffsets, 0, outNext, 0, n);
+        System.arraycopy(inOffsets, 0, inNext, 0, n);
+        for (int e = 0; e < m; e++) {
+            byte type = (byte) edgeCalls[e].getCallType().ordinal();
+            boolean crossService = edgeCalls[e].isCrossService();
+
+            int out = outNext[sources[e]]++;
+            outTargets[out] = targets[e];
+            outTypes[out] = type;
+            outCrossService[out] = crossService;
+
+            int in = inNext[targets[e]]++;
+            inSources[in] = sources[e];
+            inTypes[in] = type;
+            inCrossService[in] = crossService;
+        }
+
+        return new CallGraph(methods, methodClasses, methodIndex,
+                outOffsets, outTargets, outTypes, outCrossService,
+                inOffsets, inSources, inTypes, inCrossService);
+    }
+
+    private static int[] offsets(int[] keys, int count, int n) {
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < count; e++) {
+            offsets[keys[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+
+    // ---- Methods ----
+
+    public int getMethodCount() {
+        return methods.length;
+    }
+
+    public int getEdgeCount() {
+        return outTargets.length;
+    }
+
+    /**
+     * Dense index of a method ID, or -1 if the method is unknown
+     */
+    public int indexOf(String methodId) {
+        Integer index = methodIndex.get(methodId);
+        return index != null ? index : -1;
+    }
+
+    public MethodInfo getMethod(int method) {
+        return methods[method];
+    }
+
+    public String getMethodId(int method) {
+        return methods[method].getId();
+    }
+
+    /**
+     * Declaring class of a method, or null if the class is not part of the result
+     */
+    public ClassInfo getMethodClass(int method) {
+        return methodClasses[method];
+    }
+
+    // ---- Outgoing edges ----
+
+    /**
+     * First outgoing edge of a method; edges run up to {@link #outEnd(int)} exclusive
+     */
+    public int outStart(int method) {
+        return outOffsets[method];
+    }
+
+    public int outEnd(int method) {
+        return outOffsets[method + 1];
+    }
+
+    public int outTarget(int edge) {
+        return outTargets[edge];
+    }
+
+    public CallType outCallType(int edge) {
+        return CALL_TYPES[outTypes[edge]];
+    }
+
+    public boolean isOutCrossService(int edge) {
+        return outCrossService[edge];
+    }
+
+    // ---- Incoming edges ----
+
+    /**
+     * First incoming edge of a method; edges run up to {@link #inEnd(int)} exclusive
+     */
+    public int inStart(int method) {
+        return inOffsets[method];
+    }
+
+    public int inEnd(int method) {
+        return inOffsets[method + 1];
+    }
+
+    public int inSource(int edge) {
+        return inSources[edge];
+    }
+
+    public CallType inCallType(int edge) {
+        return CALL_TYPES[inTypes[edge]];
+    }
+
+    public boolean isInCrossService(int edge) {
+        return inCrossService[edge];
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.analyzer.core;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a call graph and the DAG they condense it into.
+ *
+ * Components are found with an iterative Tarjan search and numbered in completion order, so
+ * every DAG edge runs from a higher to a lower component number: ascending numbers are a
+ * reverse topological order. Members and DAG successors are stored in compressed sparse row
+ * form like the graph itself. A component is recursive if it has more than one method or a
+ * method that calls itself; such components are the recursion clusters of the graph.
+ *
+ * Call chains are not built on the DAG: ChainTraversal still expands them depth-first over the
+ * method graph, since each chain lists individual methods with their levels. The condensation
+ * only provides the recursion clusters, the {@code recursive} flag of each chain and the
+ * component DAG that the ReachabilityIndex closes over.
+ */
+public final class CallGraphCondensation {
+    private final int[] componentOf;
+    private final int[] memberOffsets;
+    private final int[] members;
+    private final int[] dagOffsets;
+    private final int[] dagTargets;
+    private final boolean[] recursive;
+    private final boolean[] reachesRecursion;
+
+    private CallGraphCondensation(int[] componentOf, int[] memberOffsets, int[] members,
+                                  int[] dagOffsets, int[] dagTargets,
+                                  boolean[] recursive, boolean[] reachesRecursion) {
+        this.componentOf = componentOf;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.dagOffsets = dagOffsets;
+        this.dagTargets = dagTargets;
+        this.recursive = recursive;
+        this.reachesRecursion = reachesRecursion;
+    }
+
+    /**
+     * Condense a call graph, in time linear in its methods and edges
+     */
+    public static CallGraphCondensation of(CallGraph graph) {
+        int n = graph.getMethodCount();
+        int[] componentOf = new int[n];
+        int components = findComponents(graph, componentOf);
+
+        // Members by component, in method order
+        int[] memberOffsets = new int[components + 1];
+        for (int m = 0; m < n; m++) {
+            memberOffsets[componentOf[m] + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(memberOffsets, components);
+        for (int m = 0; m < n; m++) {
+            members[next[componentOf[m]]++] = m;
+        }
+
+        // Distinct successor components; a self edge makes a single method recursive
+        boolean[] recursive = new boolean[components];
+        int[] dagOffsets = new int[components + 1];
+        int[] dagTargets = new int[graph.getEdgeCount()];
+        int[] seen = new int[components];
+        Arrays.fill(seen, -1);
+        int count = 0;
+        for (int c = 0; c < components; c++) {
+            dagOffsets[c] = count;
+            recursive[c] = memberOffsets[c + 1] - memberOffsets[c] > 1;
+            for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+                int m = members[i];
+                for (int e = graph.outStart(m); e < graph.outEnd(m); e++) {
+                    int target = componentOf[graph.outTarget(e)];
+                    if (target == c) {
+                        recursive[c] |= graph.outTarget(e) == m;
+                    } else if (seen[target] != c) {
+                        seen[target] = c;
+                        dagTargets[count++] = target;
+                    }
+                }
+            }
+        }
+        dagOffsets[components] = count;
+
+        // Successors complete first, so one ascending pass propagates reachability
+        boolean[] reachesRecursion = new boolean[components];
+        for (int c = 0; c < components; c++) {
+            boolean reaches = recursive[c];
+            for (int i = dagOffsets[c]; i < dagOffsets[c + 1] && !reaches; i++) {
+                reaches = reachesRecursion[dagTargets[i]];
+            }
+            reachesRecursion[c] = reaches;
+        }
+
+        return new CallGraphCondensation(componentOf, memberOffsets, members,
+                dagOffsets, Arrays.copyOf(dagTargets, count), recursive, reachesRecursion);
+    }
+
+    /**
+     * Iterative Tarjan search
+     *
+     * @return number of components; componentOf is filled in
+     */
+    private static int findComponents(CallGraph graph, int[] componentOf) {
+        int n = graph.getMethodCount();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callMethod = new int[n];
+        int[] callEdge = new int[n];
+        int nextIndex = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callMethod[0] = root;
+            callEdge[0] = graph.outStart(root);
+            index[root] = low[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int m = callMethod[depth];
+                int e = callEdge[depth];
+                if (e < graph.outEnd(m)) {
+                    callEdge[depth] = e + 1;
+                    int target = graph.outTarget(e);
+                    if (index[target] == -1) {
+                        index[target] = low[target] = nextIndex++;
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        depth++;
+                        callMethod[depth] = target;
+                        callEdge[depth] = graph.outStart(target);
+                    } else if (onStack[target] && index[target] < low[m]) {
+                        low[m] = index[target];
+                    }
+                    continue;
+                }
+
+                if (low[m] == index[m]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        componentOf[member] = components;
+                    } while (member != m);
+                    components++;
+                }
+                depth--;
+                if (depth >= 0 && low[m] < low[callMethod[depth]]) {
+                    low[callMethod[depth]] = low[m];
+                }
+            }
+        }
+        return components;
+    }
+
+    // ---- Components ----
+
+    public int getComponentCount() {
+        return dagOffsets.length - 1;
+    }
+
+    public int componentOf(int method) {
+        return componentOf[method];
+    }
+
+    /**
+     * First member of a component; members run up to {@link #memberEnd(int)} exclusive,
+     * in method order
+     */
+    public int memberStart(int component) {
+        return memberOffsets[component];
+    }
+
+    public int memberEnd(int component) {
+        return memberOffsets[component + 1];
+    }
+
+    public int member(int i) {
+        return members[i];
+    }
+
+    /**
+     * Whether the component is a recursion cluster: mutually recursive methods or a
+     * method calling itself
+     */
+    public boolean isRecursive(int component) {
+        return recursive[component];
+    }
+
+    /**
+     * Whether a recursion cluster is reachable from the component, including itself
+     */
+    public boolean reachesRecursion(int component) {
+        return reachesRecursion[component];
+    }
+
+    // ---- Condensed DAG ----
+
+    public int getDagEdgeCount() {
+        return dagTargets.length;
+    }
+
+    /**
+     * First successor of a component; successors run up to {@link #dagEnd(int)} exclusive
+     * and all have lower component numbers
+     */
+    public int dagStart(int component) {
+        return dagOffsets[component];
+    }
+
+    public int dagEnd(int component) {
+        return dagOffsets[component + 1];
+    }
+
+    public int dagTarget(int i) {
+        return dagTargets[i];
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.analyzer.core;
+
+import java.util.Arrays;
+
+/**
+ * Append-only node storage of one call chain, indexed by call graph method.
+ * An entry is either a node (method, level, call type) or a splice of a memoized sub-chain,
+ * whose nodes are inserted at that position with their levels shifted by the entry's level.
+ * Immutable once the chain is complete, so sub-chains can keep referring to it.
+ */
+final class ChainBuffer {
+    private static final int INITIAL_CAPACITY = 64;
+
+    int[] methods = new int[INITIAL_CAPACITY];     // Method index, or -(splice index + 1)
+    int[] levels = new int[INITIAL_CAPACITY];      // Node level, or level offset of a splice
+    byte[] types = new byte[INITIAL_CAPACITY];     // CallType ordinal of a node
+    SubChain[] splices = new SubChain[4];
+    int size;
+    private int spliceCount;
+
+    void addNode(int method, int level, byte type) {
+        ensureCapacity();
+        methods[size] = method;
+        levels[size] = level;
+        types[size] = type;
+        size++;
+    }
+
+    /**
+     * @param levelOffset level of the sub-chain root, its direct calls get levelOffset + 1
+     */
+    void addSplice(SubChain subChain, int levelOffset) {
+        ensureCapacity();
+        if (spliceCount == splices.length) {
+            splices = Arrays.copyOf(splices, spliceCount * 2);
+        }
+        splices[spliceCount] = subChain;
+        methods[size] = -(spliceCount + 1);
+        levels[size] = levelOffset;
+        spliceCount++;
+        size++;
+    }
+
+    private void ensureCapacity() {
+        if (size == methods.length) {
+            int capacity = size * 2;
+            methods = Arrays.copyOf(methods, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+    }
+}
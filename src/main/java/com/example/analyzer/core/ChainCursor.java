@@ -0,0 +1,67 @@
+package com.example.analyzer.core;
+
+import java.util.Arrays;
+
+/**
+ * Walks the nodes of a chain buffer range in order, expanding spliced sub-chains in place.
+ * Reusable: {@link #reset} starts a new walk without allocating.
+ */
+final class ChainCursor {
+    private ChainBuffer[] buffers = new ChainBuffer[8];
+    private int[] positions = new int[8];
+    private int[] ends = new int[8];
+    private int[] deltas = new int[8];      // Added to stored levels to get chain levels
+    private int depth;
+
+    int method;
+    int level;
+    byte type;
+
+    void reset(ChainBuffer buffer, int start, int end, int delta) {
+        depth = 0;
+        push(buffer, start, end, delta);
+    }
+
+    /**
+     * Advance to the next node
+     *
+     * @return false when the range is exhausted
+     */
+    boolean next() {
+        while (depth > 0) {
+            int top = depth - 1;
+            if (positions[top] >= ends[top]) {
+                depth--;
+                continue;
+            }
+            ChainBuffer buffer = buffers[top];
+            int i = positions[top]++;
+            int entry = buffer.methods[i];
+            if (entry >= 0) {
+                method = entry;
+                level = buffer.levels[i] + deltas[top];
+                type = buffer.types[i];
+                return true;
+            }
+            SubChain subChain = buffer.splices[-entry - 1];
+            push(subChain.buffer, subChain.start, subChain.end,
+                    buffer.levels[i] + deltas[top] - subChain.baseLevel);
+        }
+        return false;
+    }
+
+    private void push(ChainBuffer buffer, int start, int end, int delta) {
+        if (depth == buffers.length) {
+            int capacity = depth * 2;
+            buffers = Arrays.copyOf(buffers, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            deltas = Arrays.copyOf(deltas, capacity);
+        }
+        buffers[depth] = buffer;
+        positions[depth] = start;
+        ends[depth] = end;
+        deltas[depth] = delta;
+        depth++;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.analyzer.core;
+
+/**
+ * Budgets applied to the traversal of each entry point when building call chains
+ */
+public class ChainLimits {
+    public static final int DEFAULT_MAX_DEPTH = 20;
+
+    private int maxDepth = DEFAULT_MAX_DEPTH;       // Deepest node level below the entry point
+    private int maxNodes = Integer.MAX_VALUE;       // Nodes added below the entry point
+    private long timeoutMillis;                     // 0 means no time budget
+
+    public ChainLimits() {
+    }
+
+    public ChainLimits(int maxDepth, int maxNodes, long timeoutMillis) {
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Getters and Setters
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    public void setMaxNodes(int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.CallChain;
+import com.example.analyzer.model.CallType;
+import com.example.analyzer.model.ClassInfo;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only node list of a call chain backed by its chain buffer. Nodes are created while
+ * iterating, so spliced sub-chains shared by many chains are stored only once.
+ */
+final class ChainNodeList extends AbstractList<CallChain.CallChainNode> {
+    private static final CallType[] CALL_TYPES = CallType.values();
+
+    private final CallGraph graph;
+    private final CallChain.CallChainNode entryNode;
+    private final ChainBuffer buffer;
+    private final int size;
+    private volatile List<CallChain.CallChainNode> materialized;
+
+    ChainNodeList(CallGraph graph, CallChain.CallChainNode entryNode, ChainBuffer buffer, int nodeCount) {
+        this.graph = graph;
+        this.entryNode = entryNode;
+        this.buffer = buffer;
+        this.size = nodeCount + 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public CallChain.CallChainNode get(int index) {
+        List<CallChain.CallChainNode> nodes = materialized;
+        if (nodes == null) {
+            nodes = new ArrayList<>(size);
+            for (CallChain.CallChainNode node : this) {
+                nodes.add(node);
+            }
+            materialized = nodes;
+        }
+        return nodes.get(index);
+    }
+
+    /**
+     * The same nodes bound to the graph of a later update. The buffer is reused when every
+     * method of the chain keeps its index there; otherwise the nodes are copied, so the chain
+     * no longer holds on to this graph and its buffers.
+     */
+    List<CallChain.CallChainNode> rebind(CallGraph current) {
+        List<CallChain.CallChainNode> nodes = materialized;
+        if (nodes != null) {
+            return nodes;
+        }
+        if (current == graph) {
+            return this;
+        }
+        ChainCursor cursor = new ChainCursor();
+        cursor.reset(buffer, 0, buffer.size, 0);
+        while (cursor.next()) {
+            int method = cursor.method;
+            if (method >= current.getMethodCount()
+                    || !graph.getMethodId(method).equals(current.getMethodId(method))
+                    || graph.getMethodClass(method) != current.getMethodClass(method)) {
+                return new ArrayList<>(this);
+            }
+        }
+        return new ChainNodeList(current, entryNode, buffer, size - 1);
+    }
+
+    CallGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public Iterator<CallChain.CallChainNode> iterator() {
+        ChainCursor cursor = new ChainCursor();
+        cursor.reset(buffer, 0, buffer.size, 0);
+        return new Iterator<CallChain.CallChainNode>() {
+            private boolean entryReturned;
+            private boolean advanced;
+            private boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (!entryReturned) {
+                    return true;
+                }
+                if (!advanced) {
+                    hasNext = cursor.next();
+                    advanced = true;
+                }
+                return hasNext;
+            }
+
+            @Override
+            public CallChain.CallChainNode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (!entryReturned) {
+                    entryReturned = true;
+                    return entryNode;
+                }
+                advanced = false;
+                ClassInfo classInfo = graph.getMethodClass(cursor.method);
+                CallChain.CallChainNode node = new CallChain.CallChainNode(
+                        cursor.level, graph.getMethodId(cursor.method), classInfo.getId(), classInfo.getServiceId());
+                node.setCallType(CALL_TYPES[cursor.type]);
+                return node;
+            }
+        };
+    }
+}
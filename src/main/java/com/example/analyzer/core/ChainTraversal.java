@@ -0,0 +1,267 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.CallChain;
+import com.example.analyzer.model.ClassInfo;
+import com.example.analyzer.model.TraversalBudget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Depth-first traversal of the call graph from one entry point at a time, on an explicit stack.
+ *
+ * Every traversed edge adds a node to the chain; a method is expanded only the first time the
+ * chain reaches it, and only while the depth budget allows. The visited marks and the stack
+ * are reused across entry points. Not thread-safe: use one instance per thread.
+ *
+ * Sub-chains are shared between entry points. When the expansion of a method finished without
+ * a budget cut and without reaching a method the chain had expanded before it, its nodes are
+ * exactly what the method adds in any chain that has not expanded one of them yet. Such a
+ * slice is memoized per method, and later chains splice it in by reference instead of walking
+ * and storing it again, as long as it fits their remaining budgets.
+ */
+class ChainTraversal {
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    // Smaller expansions are cheaper to copy than to check and splice
+    private static final int MIN_SHARED_NODES = 8;
+
+    private final CallGraph graph;
+    private final ChainLimits limits;
+    private final AtomicReferenceArray<SubChain> memo;
+    private final ChainCursor cursor = new ChainCursor();
+    private final List<SubChain> pending = new ArrayList<>();
+
+    // visited[m] == stamp marks m as expanded in the current chain, order[m] is when
+    private final int[] visited;
+    private final int[] order;
+    private int stamp;
+    private int nextOrder;
+
+    // Stack frames: method, next outgoing edge, level of the nodes its edges add,
+    // and what is needed to tell whether its expansion can be shared
+    private int[] stackMethod = new int[32];
+    private int[] stackEdge = new int[32];
+    private int[] stackLevel = new int[32];
+    private int[] stackOrder = new int[32];       // Order of the frame method
+    private int[] stackMinRef = new int[32];      // Lowest order of an expanded method its edges reached
+    private boolean[] stackCut = new boolean[32]; // A budget kept a method below it from expanding
+    private int[] stackStart = new int[32];       // Buffer position and node count at push
+    private int[] stackNodes = new int[32];
+    private int[] stackMaxLevel = new int[32];    // Deepest level its expansion needs
+    private int depth;
+
+    private ChainBuffer buffer;
+    private int nodes;
+    private long splices;
+
+    /**
+     * @param memo memoized sub-chains by method; sub-chains are published to it when their chain
+     *             completes, so it may be shared by traversals running on other threads
+     */
+    ChainTraversal(CallGraph graph, ChainLimits limits, AtomicReferenceArray<SubChain> memo) {
+        this.graph = graph;
+        this.limits = limits;
+        this.memo = memo;
+        this.visited = new int[graph.getMethodCount()];
+        this.order = new int[graph.getMethodCount()];
+    }
+
+    /**
+     * Set the nodes of the chain to its entry point followed by the nodes reachable from the
+     * entry method
+     *
+     * @return the budget that cut the traversal short, or null if the chain is complete
+     */
+    TraversalBudget traverse(int entry, CallChain chain) {
+        if (++stamp == 0) {
+            // Stamp wrapped around, forget all marks
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+        buffer = new ChainBuffer();
+        nodes = 0;
+        nextOrder = 0;
+        depth = 0;
+        pending.clear();
+
+        TraversalBudget exceeded = run(entry, chain);
+
+        for (SubChain subChain : pending) {
+            memo.compareAndSet(subChain.root, null, subChain);
+        }
+        chain.setChain(new ChainNodeList(graph, chain.getEntryPoint(), buffer, nodes));
+        return exceeded;
+    }
+
+    /**
+     * Number of memoized sub-chains spliced into chains so far
+     */
+    long getSplices() {
+        return splices;
+    }
+
+    private TraversalBudget run(int entry, CallChain chain) {
+        long deadline = limits.getTimeoutMillis() > 0
+                ? System.nanoTime() + limits.getTimeoutMillis() * 1_000_000L
+                : 0;
+        int untilTimeCheck = TIME_CHECK_INTERVAL;
+        TraversalBudget exceeded = null;
+
+        if (enter(entry, 1, chain)) {
+            exceeded = TraversalBudget.DEPTH;
+        }
+        while (depth > 0) {
+            int top = depth - 1;
+            int method = stackMethod[top];
+            int edge = stackEdge[top];
+            if (edge >= graph.outEnd(method)) {
+                pop();
+                continue;
+            }
+            stackEdge[top] = edge + 1;
+
+            int target = graph.outTarget(edge);
+            ClassInfo targetClass = graph.getMethodClass(target);
+            if (targetClass == null) {
+                continue;
+            }
+
+            if (nodes >= limits.getMaxNodes()) {
+                return TraversalBudget.NODES;
+            }
+            if (deadline != 0 && --untilTimeCheck == 0) {
+                untilTimeCheck = TIME_CHECK_INTERVAL;
+                if (System.nanoTime() > deadline) {
+                    return TraversalBudget.TIME;
+                }
+            }
+            nodes++;
+
+            int level = stackLevel[top];
+            buffer.addNode(target, level, (byte) graph.outCallType(edge).ordinal());
+            chain.addInvolvedService(targetClass.getServiceId());
+
+            if (enter(target, level + 1, chain) && exceeded == null) {
+                exceeded = TraversalBudget.DEPTH;
+            }
+        }
+        return exceeded;
+    }
+
+    /**
+     * Expand a method whose outgoing edges add nodes at the given level, unless the chain
+     * already expanded it: splice its memoized sub-chain when possible, push it otherwise
+     *
+     * @return true if the depth budget kept a not yet expanded method with calls from expanding
+     */
+    private boolean enter(int method, int level, CallChain chain) {
+        int parent = depth - 1;
+        if (visited[method] == stamp) {
+            if (parent >= 0 && order[method] < stackMinRef[parent]) {
+                stackMinRef[parent] = order[method];
+            }
+            return false;
+        }
+        boolean hasCalls = graph.outEnd(method) > graph.outStart(method);
+        if (level > limits.getMaxDepth()) {
+            if (hasCalls && parent >= 0) {
+                stackCut[parent] = true;
+            }
+            return hasCalls;
+        }
+
+        SubChain subChain = memo.get(method);
+        if (subChain != null
+                && level - 1 + subChain.depth <= limits.getMaxDepth()
+                && (long) nodes + subChain.nodeCount <= limits.getMaxNodes()
+                && isUnvisited(subChain)) {
+            splice(subChain, level - 1, chain);
+            if (parent >= 0 && level - 1 + subChain.depth > stackMaxLevel[parent]) {
+                stackMaxLevel[parent] = level - 1 + subChain.depth;
+            }
+            return false;
+        }
+
+        visit(method);
+        if (depth == stackMethod.length) {
+            grow();
+        }
+        stackMethod[depth] = method;
+        stackEdge[depth] = graph.outStart(method);
+        stackLevel[depth] = level;
+        stackOrder[depth] = order[method];
+        stackMinRef[depth] = Integer.MAX_VALUE;
+        stackCut[depth] = false;
+        stackStart[depth] = buffer.size;
+        stackNodes[depth] = nodes;
+        stackMaxLevel[depth] = hasCalls ? level : level - 1;
+        depth++;
+        return false;
+    }
+
+    /**
+     * Pop the top frame, memoizing its expansion if it can be shared, and pass what it
+     * reached on to its parent
+     */
+    private void pop() {
+        int top = --depth;
+        int method = stackMethod[top];
+        int count = nodes - stackNodes[top];
+        if (!stackCut[top] && stackMinRef[top] >= stackOrder[top]
+                && count >= MIN_SHARED_NODES && memo.get(method) == null) {
+            int baseLevel = stackLevel[top] - 1;
+            pending.add(new SubChain(method, buffer, stackStart[top], buffer.size,
+                    baseLevel, count, stackMaxLevel[top] - baseLevel));
+        }
+        if (top > 0) {
+            int parent = top - 1;
+            stackMinRef[parent] = Math.min(stackMinRef[parent], stackMinRef[top]);
+            stackCut[parent] |= stackCut[top];
+            stackMaxLevel[parent] = Math.max(stackMaxLevel[parent], stackMaxLevel[top]);
+        }
+    }
+
+    private boolean isUnvisited(SubChain subChain) {
+        cursor.reset(subChain.buffer, subChain.start, subChain.end, 0);
+        while (cursor.next()) {
+            if (visited[cursor.method] == stamp && cursor.method != subChain.root) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void splice(SubChain subChain, int levelOffset, CallChain chain) {
+        visit(subChain.root);
+        cursor.reset(subChain.buffer, subChain.start, subChain.end, 0);
+        while (cursor.next()) {
+            if (visited[cursor.method] != stamp) {
+                visit(cursor.method);
+            }
+            chain.addInvolvedService(graph.getMethodClass(cursor.method).getServiceId());
+        }
+        buffer.addSplice(subChain, levelOffset);
+        nodes += subChain.nodeCount;
+        splices++;
+    }
+
+    private void visit(int method) {
+        visited[method] = stamp;
+        order[method] = nextOrder++;
+    }
+
+    private void grow() {
+        int capacity = depth * 2;
+        stackMethod = Arrays.copyOf(stackMethod, capacity);
+        stackEdge = Arrays.copyOf(stackEdge, capacity);
+        stackLevel = Arrays.copyOf(stackLevel, capacity);
+        stackOrder = Arrays.copyOf(stackOrder, capacity);
+        stackMinRef = Arrays.copyOf(stackMinRef, capacity);
+        stackCut = Arrays.copyOf(stackCut, capacity);
+        stackStart = Arrays.copyOf(stackStart, capacity);
+        stackNodes = Arrays.copyOf(stackNodes, capacity);
+        stackMaxLevel = Arrays.copyOf(stackMaxLevel, capacity);
+    }
+}
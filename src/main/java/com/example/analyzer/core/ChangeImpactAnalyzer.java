@@ -0,0 +1,241 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.analyzer.MethodCallAnalyzer;
+import com.example.analyzer.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Finds the entry points and services affected by the changes between two commits.
+ * Only the changed files are parsed, at the head commit; everything else comes from a
+ * baseline result of the base commit. Changed lines are mapped to the methods enclosing them
+ * on both sides, and the reverse call graph of the baseline is walked from those methods.
+ */
+public class ChangeImpactAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeImpactAnalyzer.class);
+
+    private static final String SOURCE_DIR = "src/main/java/";
+
+    private final CallChainEngine engine;
+
+    public ChangeImpactAnalyzer(CallChainEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * @param baseline result of the base commit, e.g. a loaded snapshot; its indexes are rebuilt
+     */
+    public ImpactReport analyze(AnalysisResult baseline, GitDiff diff, String baseCommit, String headCommit)
+            throws IOException {
+        engine.indexResult(baseline);
+        CallGraph graph = engine.getCallGraph();
+        MethodCallAnalyzer methodCallAnalyzer = engine.getMethodCallAnalyzer();
+        ImpactReport report = new ImpactReport(baseCommit, headCommit);
+
+        Map<String, List<ClassInfo>> classesByFileName = new HashMap<>();
+        Map<String, MethodInfo> methodsBySignature = new HashMap<>();
+        for (ClassInfo classInfo : baseline.getClasses()) {
+            if (classInfo.getFilePath() != null) {
+                classesByFileName.computeIfAbsent(fileName(classInfo.getFilePath()), k -> new ArrayList<>())
+                        .add(classInfo);
+            }
+            for (MethodInfo method : baseline.getMethodsByClassId(classInfo.getId())) {
+                methodsBySignature.putIfAbsent(signatureKey(classInfo, method), method);
+            }
+        }
+
+        boolean[] changed = new boolean[graph.getMethodCount()];
+        List<ImpactReport.ImpactedEntryPoint> addedEntryPoints = new ArrayList<>();
+        for (GitDiff.FileDiff file : diff.getFiles()) {
+            String path = file.getNewPath() != null ? file.getNewPath() : file.getOldPath();
+            report.addChangedFile(new ImpactReport.ChangedFile(path, file.getStatus()));
+
+            // Base side: baseline methods enclosing removed or replaced lines
+            if (file.getOldPath() != null) {
+                List<MethodInfo> oldMethods = new ArrayList<>();
+                for (ClassInfo classInfo : classesOfFile(classesByFileName, file.getOldPath())) {
+                    oldMethods.addAll(baseline.getMethodsByClassId(classInfo.getId()));
+                }
+                List<MethodInfo> touched = file.getNewPath() == null ? oldMethods
+                        : touchedMethods(oldMethods, file.getOldLines(), diff.show(baseCommit, file.getOldPath()));
+                for (MethodInfo method : touched) {
+                    mark(changed, graph.indexOf(method.getId()));
+                }
+            }
+
+            // Head side: parse the new version and map its touched methods to the baseline
+            if (file.getNewPath() != null) {
+                ServiceInfo service = serviceOf(file.getNewPath(), baseline, diff.getTopLevel());
+                if (service == null) {
+                    logger.warn("No analyzed service contains {}, skipping it", file.getNewPath());
+                    continue;
+                }
+                String source = diff.show(headCommit, file.getNewPath());
+                List<ParsedClass> parsedClasses;
+                try {
+                    parsedClasses = engine.parseSource(source, diff.getTopLevel().resolve(file.getNewPath()), service);
+                } catch (Exception e) {
+                    logger.warn("Failed to parse {} at {}: {}", file.getNewPath(), headCommit, e.getMessage());
+                    continue;
+                }
+                for (ParsedClass parsedClass : parsedClasses) {
+                    ClassInfo classInfo = parsedClass.getClassInfo();
+                    for (MethodInfo method : touchedMethods(parsedClass.getMethods(), file.getNewLines(), source)) {
+                        MethodInfo baselineMethod = methodsBySignature.get(signatureKey(classInfo, method));
+                        if (baselineMethod != null) {
+                            mark(changed, graph.indexOf(baselineMethod.getId()));
+                            continue;
+                        }
+                        EntryPointType type = methodCallAnalyzer.classifyEntryPoint(method, classInfo);
+                        if (type != null) {
+                            ImpactReport.ImpactedEntryPoint entryPoint = impactedEntryPoint(method, classInfo, type);
+                            entryPoint.setAdded(true);
+                            addedEntryPoints.add(entryPoint);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Walk the reverse call graph from the changed methods
+        boolean[] reached = changed.clone();
+        int[] queue = new int[graph.getMethodCount()];
+        int tail = 0;
+        for (int method = 0; method < changed.length; method++) {
+            if (changed[method]) {
+                report.addChangedMethodId(graph.getMethodId(method));
+                queue[tail++] = method;
+            }
+        }
+        Set<String> services = new TreeSet<>();
+        for (int head = 0; head < tail; head++) {
+            int method = queue[head];
+            ClassInfo methodClass = graph.getMethodClass(method);
+            if (methodClass != null) {
+                services.add(methodClass.getServiceId());
+            }
+            for (int e = graph.inStart(method); e < graph.inEnd(method); e++) {
+                int caller = graph.inSource(e);
+                if (!reached[caller]) {
+                    reached[caller] = true;
+                    queue[tail++] = caller;
+                }
+            }
+        }
+
+        for (EntryPointIndex.EntryPoint entryPoint : engine.getEntryPointIndex().getEntryPoints()) {
+            int method = graph.indexOf(entryPoint.getMethod().getId());
+            if (method >= 0 && reached[method]) {
+                report.addImpactedEntryPoint(impactedEntryPoint(
+                        entryPoint.getMethod(), entryPoint.getClassInfo(), entryPoint.getType()));
+            }
+        }
+        for (ImpactReport.ImpactedEntryPoint entryPoint : addedEntryPoints) {
+            report.addImpactedEntryPoint(entryPoint);
+            services.add(entryPoint.getServiceId());
+        }
+        report.setImpactedServices(new ArrayList<>(services));
+
+        logger.info("Change impact {}..{}: {} methods changed, {} methods affected, {}",
+                baseCommit, headCommit, report.getChangedMethodIds().size(), tail, report);
+        return report;
+    }
+
+    private static void mark(boolean[] changed, int method) {
+        if (method >= 0) {
+            changed[method] = true;
+        }
+    }
+
+    private ImpactReport.ImpactedEntryPoint impactedEntryPoint(MethodInfo method, ClassInfo classInfo,
+                                                              EntryPointType type) {
+        ImpactReport.ImpactedEntryPoint entryPoint = new ImpactReport.ImpactedEntryPoint(method.getId(),
+                classInfo.getQualifiedName() + "." + method.getMethodName(), type, classInfo.getServiceId());
+        if (type == EntryPointType.HTTP) {
+            entryPoint.setHttpEndpoint(engine.getMethodCallAnalyzer().extractHttpEndpoint(method, classInfo));
+        }
+        return entryPoint;
+    }
+
+    /**
+     * Methods enclosing a changed line. A changed line outside all methods that is not blank,
+     * a comment, a brace or an import (e.g. a field or class annotation) may change how every
+     * method of the file behaves or resolves, so it touches all of them.
+     *
+     * @param ranges inclusive [first, last] line ranges
+     */
+    private static List<MethodInfo> touchedMethods(List<MethodInfo> methods, List<int[]> ranges, String source) {
+        String[] lines = source.split("\n", -1);
+        Set<MethodInfo> touched = new LinkedHashSet<>();
+        for (int[] range : ranges) {
+            for (int line = range[0]; line <= range[1]; line++) {
+                boolean enclosed = false;
+                for (MethodInfo method : methods) {
+                    if (method.getLineStart() <= line && line <= method.getLineEnd()) {
+                        touched.add(method);
+                        enclosed = true;
+                    }
+                }
+                if (!enclosed && line <= lines.length && isSignificant(lines[line - 1])) {
+                    return methods;
+                }
+            }
+        }
+        return new ArrayList<>(touched);
+    }
+
+    private static boolean isSignificant(String line) {
+        String text = line.trim();
+        return !(text.isEmpty() || text.startsWith("//") || text.startsWith("/*") || text.startsWith("*")
+                || text.equals("{") || text.equals("}") || text.startsWith("import "));
+    }
+
+    /**
+     * Baseline classes declared in a file, matched by the path relative to the checkout so that
+     * a baseline analyzed in another directory still matches
+     */
+    private static List<ClassInfo> classesOfFile(Map<String, List<ClassInfo>> classesByFileName, String path) {
+        List<ClassInfo> classes = new ArrayList<>();
+        for (ClassInfo classInfo : classesByFileName.getOrDefault(fileName(path), Collections.emptyList())) {
+            String filePath = classInfo.getFilePath().replace('\\', '/');
+            if (filePath.equals(path) || filePath.endsWith("/" + path)) {
+                classes.add(classInfo);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Service whose root directory ends with the part of the path before src/main/java, or is
+     * the top level of the checkout
+     */
+    private static ServiceInfo serviceOf(String path, AnalysisResult baseline, Path topLevel) {
+        int sourceDir = path.startsWith(SOURCE_DIR) ? 0 : path.indexOf("/" + SOURCE_DIR);
+        if (sourceDir < 0) {
+            return null;
+        }
+        String serviceDir = path.substring(0, sourceDir);
+        for (ServiceInfo service : baseline.getServices()) {
+            Path root = Paths.get(service.getRootPath()).toAbsolutePath().normalize();
+            if (serviceDir.isEmpty() ? root.equals(topLevel)
+                    : root.toString().replace('\\', '/').endsWith("/" + serviceDir)) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    private static String fileName(String path) {
+        String normalized = path.replace('\\', '/');
+        return normalized.substring(normalized.lastIndexOf('/') + 1);
+    }
+
+    private static String signatureKey(ClassInfo classInfo, MethodInfo method) {
+        return classInfo.getQualifiedName() + '#' + method.getSignature();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.analyzer.MethodCallAnalyzer;
+import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.ClassInfo;
+import com.example.analyzer.model.EntryPointType;
+import com.example.analyzer.model.MethodInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entry points of an analysis in declaration order.
+ * Filled during the declaration pass, so chain building starts from the indexed methods
+ * instead of scanning all methods of every controller.
+ */
+public class EntryPointIndex {
+    private final List<EntryPoint> entryPoints = new ArrayList<>();
+    private final Map<EntryPointType, Integer> counts = new EnumMap<>(EntryPointType.class);
+
+    /**
+     * Index the entry points of an already resolved result, e.g. one loaded from a snapshot
+     */
+    public static EntryPointIndex build(AnalysisResult result, MethodCallAnalyzer methodCallAnalyzer) {
+        EntryPointIndex index = new EntryPointIndex();
+        for (MethodInfo method : result.getMethods()) {
+            ClassInfo classInfo = result.getClassById(method.getClassId());
+            if (classInfo != null) {
+                index.add(method, classInfo, methodCallAnalyzer.classifyEntryPoint(method, classInfo));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Add a method if it is an entry point
+     *
+     * @param type entry point type of the method, or null if it is none
+     */
+    public void add(MethodInfo method, ClassInfo classInfo, EntryPointType type) {
+        if (type == null) {
+            return;
+        }
+        entryPoints.add(new EntryPoint(method, classInfo, type));
+        counts.merge(type, 1, Integer::sum);
+    }
+
+    /**
+     * Entry points of the given types, in declaration order
+     */
+    public List<EntryPoint> select(Set<EntryPointType> types) {
+        List<EntryPoint> selected = new ArrayList<>();
+        for (EntryPoint entryPoint : entryPoints) {
+            if (types.contains(entryPoint.getType())) {
+                selected.add(entryPoint);
+            }
+        }
+        return selected;
+    }
+
+    public List<EntryPoint> getEntryPoints() {
+        return Collections.unmodifiableList(entryPoints);
+    }
+
+    public int count(EntryPointType type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    public int size() {
+        return entryPoints.size();
+    }
+
+    @Override
+    public String toString() {
+        return entryPoints.size() + " entry points " + counts;
+    }
+
+    /**
+     * A method a call chain can start from
+     */
+    public static class EntryPoint {
+        private final MethodInfo method;
+        private final ClassInfo classInfo;
+        private final EntryPointType type;
+
+        public EntryPoint(MethodInfo method, ClassInfo classInfo, EntryPointType type) {
+            this.method = method;
+            this.classInfo = classInfo;
+            this.type = type;
+        }
+
+        public MethodInfo getMethod() {
+            return method;
+        }
+
+        public ClassInfo getClassInfo() {
+            return classInfo;
+        }
+
+        public EntryPointType getType() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.analyzer.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Java files and line ranges changed between two commits of a local git checkout, read from
+ * a single zero-context diff. File contents at a commit are read from the object store, so
+ * the checkout does not have to be at either commit.
+ */
+public class GitDiff {
+    private static final Pattern HUNK = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+
+    private final Path repository;
+    private final Path topLevel;
+    private final List<FileDiff> files = new ArrayList<>();
+
+    private GitDiff(Path repository, Path topLevel) {
+        this.repository = repository;
+        this.topLevel = topLevel;
+    }
+
+    /**
+     * Diff the Java files of two commits
+     *
+     * @param repository any directory of the checkout
+     */
+    public static GitDiff between(Path repository, String baseCommit, String headCommit) throws IOException {
+        String topLevel = git(repository, "rev-parse", "--show-toplevel").trim();
+        GitDiff diff = new GitDiff(repository, Paths.get(topLevel));
+        String output = git(repository, "-c", "core.quotePath=false", "diff", "--no-color", "--no-ext-diff",
+                "-U0", "-M", baseCommit, headCommit, "--", "*.java");
+
+        FileDiff file = null;
+        for (String line : output.split("\n")) {
+            if (line.startsWith("diff --git ")) {
+                file = new FileDiff();
+                diff.files.add(file);
+            } else if (file == null) {
+                continue;
+            } else if (line.startsWith("--- ")) {
+                file.oldPath = diffPath(line.substring(4), "a/");
+            } else if (line.startsWith("+++ ")) {
+                file.newPath = diffPath(line.substring(4), "b/");
+            } else if (line.startsWith("rename from ")) {
+                file.oldPath = line.substring("rename from ".length());
+            } else if (line.startsWith("rename to ")) {
+                file.newPath = line.substring("rename to ".length());
+            } else if (line.startsWith("@@")) {
+                Matcher hunk = HUNK.matcher(line);
+                if (hunk.find()) {
+                    addRange(file.oldLines, hunk.group(1), hunk.group(2));
+                    addRange(file.newLines, hunk.group(3), hunk.group(4));
+                }
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Path of a ---/+++ line relative to the top level, or null for /dev/null
+     */
+    private static String diffPath(String path, String prefix) {
+        if (path.endsWith("\t")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if ("/dev/null".equals(path)) {
+            return null;
+        }
+        return path.startsWith(prefix) ? path.substring(prefix.length()) : path;
+    }
+
+    private static void addRange(List<int[]> ranges, String start, String count) {
+        int lines = count != null ? Integer.parseInt(count) : 1;
+        if (lines > 0) {
+            int first = Integer.parseInt(start);
+            ranges.add(new int[]{first, first + lines - 1});
+        }
+    }
+
+    /**
+     * Top level directory of the checkout; diff paths are relative to it
+     */
+    public Path getTopLevel() {
+        return topLevel;
+    }
+
+    public List<FileDiff> getFiles() {
+        return files;
+    }
+
+    /**
+     * Content of a file at a commit
+     *
+     * @param path path relative to the top level
+     */
+    public String show(String commit, String path) throws IOException {
+        return git(repository, "show", commit + ":" + path);
+    }
+
+    private static String git(Path directory, String... args) throws IOException {
+        List<String> command = new ArrayList<>(args.length + 1);
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(false)
+                .start();
+        process.getOutputStream().close();
+        String output = readAll(process.getInputStream());
+        String error = readAll(process.getErrorStream());
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("git " + String.join(" ", args) + " failed: " + error.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return output;
+    }
+
+    private static String readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1 << 16];
+        int read;
+        while ((read = input.read(chunk)) > 0) {
+            buffer.write(chunk, 0, read);
+        }
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A changed file with the changed line ranges on both sides
+     */
+    public static class FileDiff {
+        private String oldPath;
+        private String newPath;
+        private final List<int[]> oldLines = new ArrayList<>();
+        private final List<int[]> newLines = new ArrayList<>();
+
+        /**
+         * Path at the base commit, or null if the file was added
+         */
+        public String getOldPath() {
+            return oldPath;
+        }
+
+        /**
+         * Path at the head commit, or null if the file was deleted
+         */
+        public String getNewPath() {
+            return newPath;
+        }
+
+        /**
+         * Changed line ranges at the base commit, inclusive [first, last] pairs
+         */
+        public List<int[]> getOldLines() {
+            return oldLines;
+        }
+
+        public List<int[]> getNewLines() {
+            return newLines;
+        }
+
+        public String getStatus() {
+            if (oldPath == null) {
+                return "ADDED";
+            }
+            if (newPath == null) {
+                return "DELETED";
+            }
+            return oldPath.equals(newPath) ? "MODIFIED" : "RENAMED";
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.CallSite;
+import com.example.analyzer.model.ClassInfo;
+import com.example.analyzer.model.MethodInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declarations and unresolved call sites extracted from a single class.
+ * Produced by the declaration pass (or loaded from the analysis cache) and
+ * resolved by the body pass.
+ */
+public class ParsedClass {
+    private ClassInfo classInfo;
+    private List<MethodInfo> methods;
+    private List<CallSite> callSites;
+
+    public ParsedClass() {
+        this.methods = new ArrayList<>();
+        this.callSites = new ArrayList<>();
+    }
+
+    public ParsedClass(ClassInfo classInfo, List<MethodInfo> methods, List<CallSite> callSites) {
+        this.classInfo = classInfo;
+        this.methods = methods;
+        this.callSites = callSites;
+    }
+
+    // Getters and Setters
+    public ClassInfo getClassInfo() {
+        return classInfo;
+    }
+
+    public void setClassInfo(ClassInfo classInfo) {
+        this.classInfo = classInfo;
+    }
+
+    public List<MethodInfo> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(List<MethodInfo> methods) {
+        this.methods = methods;
+    }
+
+    public List<CallSite> getCallSites() {
+        return callSites;
+    }
+
+    public void setCallSites(List<CallSite> callSites) {
+        this.callSites = callSites;
+    }
+}
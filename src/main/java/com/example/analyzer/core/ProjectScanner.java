@@ -1,6 +1,9 @@
 package com.example.analyzer.core;
 
+import com.example.analyzer.model.PhaseMetrics;
 import com.example.analyzer.model.ServiceInfo;
+import com.example.analyzer.util.IdGenerator;
+import com.example.analyzer.util.PhaseTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -10,12 +13,28 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -25,6 +44,29 @@ import java.util.stream.Stream;
 public class ProjectScanner {
     private static final Logger logger = LoggerFactory.getLogger(ProjectScanner.class);
 
+    /**
+     * Directory names never descended into during discovery: build output and dependencies
+     */
+    public static final Set<String> DEFAULT_EXCLUDES = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("target", "build", "node_modules")));
+
+    private static final Pattern PACKAGING = Pattern.compile("<packaging\\s*>([^<]*)</packaging\\s*>");
+    private static final Pattern XML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+
+    private final IdGenerator idGenerator;
+    private List<GlobMatcher> includes = new ArrayList<>();
+    private List<GlobMatcher> excludes = new ArrayList<>();
+    private int threads = 1;
+    private PhaseMetrics discoveryMetrics;
+
+    public ProjectScanner() {
+        this(new IdGenerator());
+    }
+
+    public ProjectScanner(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     /**
      * Scan a single service directory
      */
@@ -35,7 +77,6 @@ public class ProjectScanner {
         }
 
         ServiceInfo serviceInfo = new ServiceInfo();
-        serviceInfo.setId(UUID.randomUUID().toString());
         serviceInfo.setRootPath(path.toAbsolutePath().toString());
 
         // Try to parse pom.xml
@@ -47,6 +88,7 @@ public class ProjectScanner {
             serviceInfo.setName(path.getFileName().toString());
             serviceInfo.setArtifactId(path.getFileName().toString());
         }
+        serviceInfo.setId(idGenerator.serviceId(serviceInfo.getGroupId(), serviceInfo.getArtifactId()));
 
         // Detect base package from source structure
         String basePackage = detectBasePackage(path);
@@ -61,9 +103,17 @@ public class ProjectScanner {
      */
     public List<ServiceInfo> scanServices(List<String> servicePaths) {
         List<ServiceInfo> services = new ArrayList<>();
+        Set<String> serviceIds = new HashSet<>();
         for (String path : servicePaths) {
             try {
                 ServiceInfo service = scanService(path);
+                if (!serviceIds.add(service.getId())) {
+                    // Same Maven coordinates twice - disambiguate by position to keep IDs unique
+                    logger.warn("Duplicate service coordinates for {}, disambiguating ID", path);
+                    service.setId(idGenerator.serviceId(service.getGroupId(),
+                            service.getArtifactId() + "~" + services.size()));
+                    serviceIds.add(service.getId());
+                }
                 services.add(service);
             } catch (Exception e) {
                 logger.error("Failed to scan service at {}: {}", path, e.getMessage());
@@ -72,12 +122,43 @@ public class ProjectScanner {
         return services;
     }
 
+    /**
+     * Glob patterns of directories to report as services; empty means all. A pattern without
+     * '/' matches the directory name, otherwise the path relative to the discovery root.
+     */
+    public void setIncludes(List<String> includes) {
+        this.includes = matchers(includes);
+    }
+
+    /**
+     * Glob patterns of directories not to descend into, in addition to {@link #DEFAULT_EXCLUDES}
+     * and hidden directories; matched like {@link #setIncludes}
+     */
+    public void setExcludes(List<String> excludes) {
+        this.excludes = matchers(excludes);
+    }
+
+    /**
+     * Number of subtrees of the discovery root walked concurrently; 1 walks sequentially
+     */
+    public void setThreads(int threads) {
+        this.threads = threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
+    /**
+     * Timing of the last {@link #discoverServiceDirs} call; files counts visited directories
+     */
+    public PhaseMetrics getDiscoveryMetrics() {
+        return discoveryMetrics;
+    }
+
     /**
      * Discover service directories under a root directory.
      * A service directory matches one of the following rules:
      *  - Contains a pom.xml
      *  - Contains standard source directory: src/main/java
      * This will not include the root directory itself, only its sub-directories.
+     * Excluded and hidden directories and the src tree of a module are not descended into.
      *
      * @param rootDir   the parent directory that contains services
      * @param recursive whether to scan recursively
@@ -91,32 +172,164 @@ public class ProjectScanner {
 
         logger.info("Discovering services under: {} (recursive={})", rootPath.toAbsolutePath(), recursive);
 
+        PhaseTimer timer = PhaseTimer.start("discover");
+        DiscoveryWalk walk = new DiscoveryWalk(rootPath);
         List<String> result = new ArrayList<>();
+        ForkJoinPool pool = null;
         try {
-            if (recursive) {
-                try (Stream<Path> paths = Files.walk(rootPath)) {
-                    paths
-                            .filter(Files::isDirectory)
-                            .filter(p -> !p.equals(rootPath))
-                            .filter(this::isServiceDir)
-                            .forEach(p -> result.add(p.toAbsolutePath().toString()));
+            // Children in listing order, so the result matches a sequential walk
+            List<Path> children = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(rootPath)) {
+                for (Path child : stream) {
+                    if (Files.isDirectory(child)) {
+                        children.add(child);
+                    }
+                }
+            }
+            if (!recursive) {
+                for (Path child : children) {
+                    walk.visit(child, result);
+                }
+            } else if (threads <= 1 || children.size() < 2) {
+                for (Path child : children) {
+                    walk.walk(child, result);
                 }
             } else {
-                try (Stream<Path> paths = Files.list(rootPath)) {
-                    paths
-                            .filter(Files::isDirectory)
-                            .filter(this::isServiceDir)
-                            .forEach(p -> result.add(p.toAbsolutePath().toString()));
+                pool = new ForkJoinPool(Math.min(threads, children.size()));
+                List<ForkJoinTask<List<String>>> tasks = new ArrayList<>(children.size());
+                for (Path child : children) {
+                    tasks.add(pool.submit(() -> {
+                        List<String> found = new ArrayList<>();
+                        walk.walk(child, found);
+                        return found;
+                    }));
+                }
+                for (ForkJoinTask<List<String>> task : tasks) {
+                    result.addAll(task.join());
                 }
             }
         } catch (Exception e) {
             logger.error("Failed to discover service directories under {}: {}", rootDir, e.getMessage());
+        } finally {
+            discoveryMetrics = timer.stop(walk.visited.get(), 0);
+            if (pool != null) {
+                pool.shutdown();
+            }
         }
 
-        logger.info("Discovered {} service directories", result.size());
+        logger.info("Discovered {} service directories in {} ms ({} directories visited, {} subtrees pruned)",
+                result.size(), discoveryMetrics.getWallTimeMs(), walk.visited.get(), walk.pruned.get());
         return result;
     }
 
+    /**
+     * Walks directories below a discovery root, safe to use from several threads at once
+     */
+    private class DiscoveryWalk {
+        private final Path root;
+        private final AtomicLong visited = new AtomicLong();
+        private final AtomicLong pruned = new AtomicLong();
+
+        DiscoveryWalk(Path root) {
+            this.root = root;
+        }
+
+        /**
+         * Add the service directories of a subtree in pre-order
+         */
+        void walk(Path start, List<String> found) throws IOException {
+            Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return visit(dir, found) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    // Links to directories are checked but not followed
+                    if (attrs.isSymbolicLink() && Files.isDirectory(file)) {
+                        visit(file, found);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    logger.debug("Skip unreadable path {}: {}", file, e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        /**
+         * Add the directory if it is a service
+         *
+         * @return whether to descend into the directory
+         */
+        boolean visit(Path dir, List<String> found) {
+            Path relative = root.relativize(dir);
+            if (isExcluded(dir, relative)) {
+                pruned.incrementAndGet();
+                return false;
+            }
+            visited.incrementAndGet();
+            if (isServiceDir(dir) && matchesAny(includes, dir, relative, true)) {
+                found.add(dir.toAbsolutePath().toString());
+            }
+            return true;
+        }
+
+        private boolean isExcluded(Path dir, Path relative) {
+            String name = dir.getFileName().toString();
+            if (name.startsWith(".") || DEFAULT_EXCLUDES.contains(name)) {
+                return true;
+            }
+            // Sources of a module hold packages, not services
+            if ("src".equals(name) && (Files.isDirectory(dir.resolve(Paths.get("main", "java")))
+                    || Files.exists(dir.resolveSibling("pom.xml")))) {
+                return true;
+            }
+            return matchesAny(excludes, dir, relative, false);
+        }
+    }
+
+    private static List<GlobMatcher> matchers(List<String> globs) {
+        List<GlobMatcher> matchers = new ArrayList<>();
+        for (String glob : globs) {
+            matchers.add(new GlobMatcher(glob.trim()));
+        }
+        return matchers;
+    }
+
+    private static boolean matchesAny(List<GlobMatcher> matchers, Path dir, Path relative, boolean emptyMatches) {
+        if (matchers.isEmpty()) {
+            return emptyMatches;
+        }
+        for (GlobMatcher matcher : matchers) {
+            if (matcher.matches(dir, relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Glob matched against the directory name, or against the relative path if it contains '/'
+     */
+    private static class GlobMatcher {
+        private final PathMatcher matcher;
+        private final boolean byName;
+
+        GlobMatcher(String glob) {
+            this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            this.byName = glob.indexOf('/') < 0;
+        }
+
+        boolean matches(Path dir, Path relative) {
+            return matcher.matches(byName ? dir.getFileName() : relative);
+        }
+    }
+
     private boolean isServiceDir(Path dir) {
         try {
             Path pom = dir.resolve("pom.xml");
@@ -129,7 +342,7 @@ public class ProjectScanner {
 
             // If pom.xml exists, check if it's a parent POM (packaging=pom)
             if (Files.exists(pom)) {
-                if (isParentPom(pom.toFile())) {
+                if (isParentPom(pom)) {
                     logger.debug("Skipping parent POM directory: {}", dir);
                     return false;
                 }
@@ -147,24 +360,18 @@ public class ProjectScanner {
     }
 
     /**
-     * Check if a pom.xml is a parent POM (packaging=pom)
+     * Check if a pom.xml is a parent POM (packaging=pom). Reads the first packaging element
+     * outside comments as text instead of building a DOM.
      */
-    private boolean isParentPom(File pomFile) {
+    private boolean isParentPom(Path pom) {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(pomFile);
-            doc.getDocumentElement().normalize();
-
-            NodeList packagingNodes = doc.getElementsByTagName("packaging");
-            if (packagingNodes.getLength() > 0) {
-                Element packagingElement = (Element) packagingNodes.item(0);
-                String packaging = packagingElement.getTextContent().trim();
-                return "pom".equalsIgnoreCase(packaging);
+            String text = new String(Files.readAllBytes(pom), StandardCharsets.ISO_8859_1);
+            if (!text.contains("<packaging")) {
+                // Default packaging is jar if not specified
+                return false;
             }
-
-            // Default packaging is jar if not specified
-            return false;
+            Matcher packaging = PACKAGING.matcher(XML_COMMENT.matcher(text).replaceAll(""));
+            return packaging.find() && "pom".equalsIgnoreCase(packaging.group(1).trim());
         } catch (Exception e) {
             logger.debug("Failed to check POM packaging: {}", e.getMessage());
             return false;
@@ -248,11 +455,18 @@ public class ProjectScanner {
         return "";
     }
 
+    /**
+     * Java source directory of a service; paths returned by findJavaFiles start with it
+     */
+    public Path sourceRoot(ServiceInfo serviceInfo) {
+        return Paths.get(serviceInfo.getRootPath(), "src/main/java");
+    }
+
     /**
      * Find all Java source files in a service
      */
     public List<Path> findJavaFiles(ServiceInfo serviceInfo) {
-        Path srcMainJava = Paths.get(serviceInfo.getRootPath(), "src/main/java");
+        Path srcMainJava = sourceRoot(serviceInfo);
         if (!Files.exists(srcMainJava)) {
             logger.warn("Source directory not found: {}", srcMainJava);
             return new ArrayList<>();
@@ -0,0 +1,354 @@
+package com.example.analyzer.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed answers to "what can this method reach" and "who reaches this method".
+ *
+ * Reachability is taken over the condensed call graph: methods in one strongly connected
+ * component reach each other, and a component reaches what its DAG successors reach. For every
+ * source method (the entry points) the closure is stored as a bitset over components, trimmed
+ * to the words between its lowest and highest reachable component. Queries from a source are
+ * bit tests; queries from other methods search the DAG, pruned by the topological numbering.
+ * A method reaches itself only through recursion. Immutable and safe for concurrent queries.
+ */
+public final class ReachabilityIndex {
+    private final String[] methodIds;
+    private final Map<String, Integer> methodIndex;
+    private final int[] componentOf;
+    private final boolean[] recursive;
+    private final int[] dagOffsets;
+    private final int[] dagTargets;
+
+    private final int[] sources;
+    private final int[] sourceRow;      // Row of each method, -1 if it is not a source
+    private final int[] rowOffsets;     // Row s occupies words[rowOffsets[s], rowOffsets[s + 1])
+    private final int[] rowFirstWord;   // Bitset word index of the first stored word of a row
+    private final long[] words;
+
+    private ReachabilityIndex(String[] methodIds, int[] componentOf, boolean[] recursive,
+                              int[] dagOffsets, int[] dagTargets,
+                              int[] sources, int[] rowOffsets, int[] rowFirstWord, long[] words) {
+        this.methodIds = methodIds;
+        this.componentOf = componentOf;
+        this.recursive = recursive;
+        this.dagOffsets = dagOffsets;
+        this.dagTargets = dagTargets;
+        this.sources = sources;
+        this.rowOffsets = rowOffsets;
+        this.rowFirstWord = rowFirstWord;
+        this.words = words;
+
+        int n = methodIds.length;
+        this.methodIndex = new HashMap<>(n * 2);
+        for (int m = 0; m < n; m++) {
+            methodIndex.put(methodIds[m], m);
+        }
+        this.sourceRow = new int[n];
+        Arrays.fill(sourceRow, -1);
+        for (int s = 0; s < sources.length; s++) {
+            sourceRow[sources[s]] = s;
+        }
+    }
+
+    /**
+     * Compute the closure of every source method over the condensed graph
+     *
+     * @param sources method indexes of the graph, without duplicates
+     */
+    public static ReachabilityIndex build(CallGraph graph, CallGraphCondensation condensation, int[] sources) {
+        int n = graph.getMethodCount();
+        int components = condensation.getComponentCount();
+        String[] methodIds = new String[n];
+        int[] componentOf = new int[n];
+        for (int m = 0; m < n; m++) {
+            methodIds[m] = graph.getMethodId(m);
+            componentOf[m] = condensation.componentOf(m);
+        }
+        boolean[] recursive = new boolean[components];
+        int[] dagOffsets = new int[components + 1];
+        int[] dagTargets = new int[condensation.getDagEdgeCount()];
+        for (int c = 0; c < components; c++) {
+            recursive[c] = condensation.isRecursive(c);
+            dagOffsets[c] = condensation.dagStart(c);
+            for (int i = condensation.dagStart(c); i < condensation.dagEnd(c); i++) {
+                dagTargets[i] = condensation.dagTarget(i);
+            }
+        }
+        dagOffsets[components] = dagTargets.length;
+
+        // One DAG search per source, into a scratch bitset cleared word by word afterwards
+        long[] scratch = new long[(components + 63) >>> 6];
+        int[] stack = new int[components];
+        int[] rowOffsets = new int[sources.length + 1];
+        int[] rowFirstWord = new int[sources.length];
+        long[] words = new long[Math.max(16, sources.length)];
+        int wordCount = 0;
+        for (int s = 0; s < sources.length; s++) {
+            int root = componentOf[sources[s]];
+            int minWord = root >>> 6;
+            int maxWord = minWord;
+            scratch[minWord] |= 1L << root;
+            int size = 0;
+            stack[size++] = root;
+            while (size > 0) {
+                int c = stack[--size];
+                for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+                    int target = dagTargets[i];
+                    int word = target >>> 6;
+                    if ((scratch[word] & (1L << target)) == 0) {
+                        scratch[word] |= 1L << target;
+                        minWord = Math.min(minWord, word);
+                        maxWord = Math.max(maxWord, word);
+                        stack[size++] = target;
+                    }
+                }
+            }
+
+            int length = maxWord - minWord + 1;
+            if (wordCount + length > words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, wordCount + length));
+            }
+            System.arraycopy(scratch, minWord, words, wordCount, length);
+            Arrays.fill(scratch, minWord, maxWord + 1, 0L);
+            rowOffsets[s] = wordCount;
+            rowFirstWord[s] = minWord;
+            wordCount += length;
+        }
+        rowOffsets[sources.length] = wordCount;
+
+        return new ReachabilityIndex(methodIds, componentOf, recursive, dagOffsets, dagTargets,
+                sources.clone(), rowOffsets, rowFirstWord, Arrays.copyOf(words, wordCount));
+    }
+
+    /**
+     * Recreate an index from the arrays exposed by its accessors, e.g. when loading a snapshot
+     */
+    public static ReachabilityIndex restore(String[] methodIds, int[] componentOf, boolean[] recursive,
+                                            int[] dagOffsets, int[] dagTargets,
+                                            int[] sources, int[] rowOffsets, int[] rowFirstWord, long[] words) {
+        return new ReachabilityIndex(methodIds, componentOf, recursive, dagOffsets, dagTargets,
+                sources, rowOffsets, rowFirstWord, words);
+    }
+
+    // ---- Queries ----
+
+    /**
+     * Whether a method can reach another through one or more calls; false for unknown methods
+     */
+    public boolean reach(String fromMethodId, String toMethodId) {
+        Integer from = methodIndex.get(fromMethodId);
+        Integer to = methodIndex.get(toMethodId);
+        if (from == null || to == null) {
+            return false;
+        }
+        int fromComponent = componentOf[from];
+        int toComponent = componentOf[to];
+        if (fromComponent == toComponent) {
+            return recursive[fromComponent];
+        }
+        if (toComponent > fromComponent) {
+            // DAG edges only lead to lower component numbers
+            return false;
+        }
+        int row = sourceRow[from];
+        if (row >= 0) {
+            return rowContains(row, toComponent);
+        }
+        return search(fromComponent, toComponent) == null;
+    }
+
+    /**
+     * Methods a method can reach, in method order; empty for unknown methods
+     */
+    public List<String> reachableFrom(String methodId) {
+        Integer from = methodIndex.get(methodId);
+        if (from == null) {
+            return Collections.emptyList();
+        }
+        int fromComponent = componentOf[from];
+        List<String> reachable = new ArrayList<>();
+        int row = sourceRow[from];
+        long[] closure = row >= 0 ? null : search(fromComponent, -1);
+        for (int m = 0; m < methodIds.length; m++) {
+            int c = componentOf[m];
+            if (c > fromComponent || (m == from && !recursive[c])) {
+                continue;
+            }
+            boolean reached = row >= 0 ? rowContains(row, c) : (closure[c >>> 6] & (1L << c)) != 0;
+            if (reached) {
+                reachable.add(methodIds[m]);
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Source methods (entry points) that can reach a method, in source order; empty for
+     * unknown methods
+     */
+    public List<String> reachers(String methodId) {
+        Integer to = methodIndex.get(methodId);
+        if (to == null) {
+            return Collections.emptyList();
+        }
+        int toComponent = componentOf[to];
+        List<String> reachers = new ArrayList<>();
+        for (int s = 0; s < sources.length; s++) {
+            int source = sources[s];
+            if (rowContains(s, toComponent) && (source != to || recursive[toComponent])) {
+                reachers.add(methodIds[source]);
+            }
+        }
+        return reachers;
+    }
+
+    public boolean isSource(String methodId) {
+        Integer method = methodIndex.get(methodId);
+        return method != null && sourceRow[method] >= 0;
+    }
+
+    private boolean rowContains(int row, int component) {
+        int word = (component >>> 6) - rowFirstWord[row];
+        if (word < 0 || word >= rowOffsets[row + 1] - rowOffsets[row]) {
+            return false;
+        }
+        return (words[rowOffsets[row] + word] & (1L << component)) != 0;
+    }
+
+    /**
+     * Search the DAG from a component
+     *
+     * @param target component to stop at, or -1 to visit everything reachable
+     * @return the visited components as a bitset, or null if the target was reached
+     */
+    private long[] search(int from, int target) {
+        long[] visited = new long[(recursive.length + 63) >>> 6];
+        int[] stack = new int[recursive.length];
+        int size = 0;
+        visited[from >>> 6] |= 1L << from;
+        stack[size++] = from;
+        while (size > 0) {
+            int c = stack[--size];
+            for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+                int next = dagTargets[i];
+                if (next == target) {
+                    return null;
+                }
+                // Components numbered below the target cannot lead back up to it
+                if (next > target && (visited[next >>> 6] & (1L << next)) == 0) {
+                    visited[next >>> 6] |= 1L << next;
+                    stack[size++] = next;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Whether the index was built over this graph: the same methods in the same order, in the
+     * same components. A stored index that does not match is stale.
+     */
+    public boolean matches(CallGraph graph, CallGraphCondensation condensation) {
+        if (methodIds.length != graph.getMethodCount()
+                || recursive.length != condensation.getComponentCount()) {
+            return false;
+        }
+        for (int m = 0; m < methodIds.length; m++) {
+            if (!methodIds[m].equals(graph.getMethodId(m)) || componentOf[m] != condensation.componentOf(m)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Accessors, e.g. for persistence ----
+
+    public int getMethodCount() {
+        return methodIds.length;
+    }
+
+    public String getMethodId(int method) {
+        return methodIds[method];
+    }
+
+    public int componentOf(int method) {
+        return componentOf[method];
+    }
+
+    public int getComponentCount() {
+        return recursive.length;
+    }
+
+    public boolean isRecursive(int component) {
+        return recursive[component];
+    }
+
+    /**
+     * First DAG successor of a component; successors run up to {@link #dagEnd(int)} exclusive
+     */
+    public int dagStart(int component) {
+        return dagOffsets[component];
+    }
+
+    public int dagEnd(int component) {
+        return dagOffsets[component + 1];
+    }
+
+    public int dagTarget(int i) {
+        return dagTargets[i];
+    }
+
+    public int getDagEdgeCount() {
+        return dagTargets.length;
+    }
+
+    public int getSourceCount() {
+        return sources.length;
+    }
+
+    public int getSource(int row) {
+        return sources[row];
+    }
+
+    /**
+     * First stored word of a row; words run up to {@link #rowEnd(int)} exclusive
+     */
+    public int rowStart(int row) {
+        return rowOffsets[row];
+    }
+
+    public int rowEnd(int row) {
+        return rowOffsets[row + 1];
+    }
+
+    /**
+     * Bitset word index of the first stored word of a row
+     */
+    public int rowFirstWord(int row) {
+        return rowFirstWord[row];
+    }
+
+    public long word(int i) {
+        return words[i];
+    }
+
+    public int getWordCount() {
+        return words.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ReachabilityIndex{" +
+                "methods=" + methodIds.length +
+                ", components=" + recursive.length +
+                ", sources=" + sources.length +
+                ", bitsetBytes=" + (long) words.length * 8 +
+                '}';
+    }
+}
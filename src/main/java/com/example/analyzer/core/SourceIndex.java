@@ -0,0 +1,88 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.ServiceInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java files of the scanned services, looked up without parsing: by file name, which is the
+ * name of the top-level class, or by text the file contains.
+ */
+final class SourceIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SourceIndex.class);
+
+    private final Map<Path, ServiceInfo> services = new LinkedHashMap<>();
+    private final Map<Path, Integer> order = new HashMap<>();
+    private final Map<String, List<Path>> byClassName = new HashMap<>();
+
+    /**
+     * Add a file; files are kept in the order they were added
+     */
+    void add(ServiceInfo service, Path javaFile) {
+        services.put(javaFile, service);
+        order.put(javaFile, order.size());
+        String fileName = javaFile.getFileName().toString();
+        String className = fileName.endsWith(".java") ? fileName.substring(0, fileName.length() - 5) : fileName;
+        byClassName.computeIfAbsent(className, k -> new ArrayList<>()).add(javaFile);
+    }
+
+    int size() {
+        return services.size();
+    }
+
+    ServiceInfo serviceOf(Path javaFile) {
+        return services.get(javaFile);
+    }
+
+    /**
+     * Position of a file in scan order
+     */
+    int orderOf(Path javaFile) {
+        return order.get(javaFile);
+    }
+
+    /**
+     * Files whose top-level class has the given simple name
+     */
+    List<Path> named(String className) {
+        return byClassName.getOrDefault(className, Collections.emptyList());
+    }
+
+    /**
+     * Files containing all the given ASCII strings, found by scanning the raw bytes
+     */
+    List<Path> containing(String... needles) {
+        List<Path> matches = new ArrayList<>();
+        for (Path javaFile : services.keySet()) {
+            String text;
+            try {
+                text = new String(Files.readAllBytes(javaFile), StandardCharsets.ISO_8859_1);
+            } catch (IOException e) {
+                logger.warn("Failed to read {}: {}", javaFile, e.getMessage());
+                continue;
+            }
+            boolean all = true;
+            for (String needle : needles) {
+                if (!text.contains(needle)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                matches.add(javaFile);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.analyzer.core;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies a Java file from its raw bytes before it is parsed. The scan only tokenizes:
+ * it skips comments and literals, tracks braces and parentheses, and looks for class and
+ * interface declarations and for method call syntax inside member bodies.
+ * <p>
+ * A file without class or interface declarations (enums, annotation types, package-info)
+ * yields no classes and is not parsed at all. A file whose member bodies contain no calls
+ * (DTOs, constants, interfaces) only contributes declarations, so its member bodies and
+ * comments are dropped before parsing; line numbers are kept. Anything the scan cannot follow is parsed
+ * in full.
+ */
+final class SourcePrefilter {
+
+    enum Kind {
+        /** No class or interface declarations, nothing to parse */
+        NO_CLASSES,
+        /** Declarations only, member bodies contain no method calls */
+        DECLARATIONS_ONLY,
+        /** Needs a full parse */
+        FULL
+    }
+
+    private static final String[] PAREN_KEYWORDS = {
+            "if", "for", "while", "switch", "catch", "synchronized", "try", "return", "throw",
+            "assert", "case", "yield", "this", "super", "else", "do", "instanceof"
+    };
+
+    private static final int TYPE = 0;
+    private static final int BODY = 1;
+
+    private final byte[] content;
+    private final List<int[]> blanked = new ArrayList<>();
+    private Kind kind;
+
+    private SourcePrefilter(byte[] content) {
+        this.content = content;
+    }
+
+    static SourcePrefilter scan(byte[] content) {
+        SourcePrefilter prefilter = new SourcePrefilter(content);
+        prefilter.kind = prefilter.classify();
+        return prefilter;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The content without the inside of method, constructor and initializer bodies and without
+     * comments outside parentheses. Line breaks are kept, so line numbers do not change.
+     */
+    byte[] declarationSource() {
+        blanked.sort((x, y) -> Integer.compare(x[0], y[0]));
+        ByteArrayOutputStream source = new ByteArrayOutputStream(content.length);
+        int next = 0;
+        for (int[] range : blanked) {
+            if (range[0] < next) {
+                continue;
+            }
+            source.write(content, next, range[0] - next);
+            for (int i = range[0]; i < range[1]; i++) {
+                if (content[i] == '\n' || content[i] == '\r') {
+                    source.write(content[i]);
+                }
+            }
+            next = range[1];
+        }
+        source.write(content, next, content.length - next);
+        return source.toByteArray();
+    }
+
+    private Kind classify() {
+        int length = content.length;
+        int[] kinds = new int[16];
+        int[] savedParens = new int[16];
+        int[] openedAt = new int[16];
+        boolean[] blank = new boolean[16];
+        int depth = 0;
+        int bodyDepth = 0;          // Number of enclosing BODY braces
+        int parens = 0;             // Open parentheses within the current brace
+        int classes = 0;
+        boolean calls = false;
+        boolean typePending = false;
+        boolean afterNew = false;
+        // Previous significant token: an identifier [identStart, identEnd), or else a single byte
+        int identStart = -1;
+        int identEnd = -1;
+        byte previous = 0;
+        boolean annotation = false;     // The identifier directly follows '@'
+        boolean annotated = false;      // The current declaration has annotations
+
+        int i = 0;
+        while (i < length) {
+            byte c = content[i];
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                i++;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && (content[i + 1] == '/' || content[i + 1] == '*')) {
+                // Comments are only used when the parser attaches them to an annotation,
+                // which needs an annotation before them in the same declaration
+                int start = i;
+                if (content[i + 1] == '/') {
+                    while (i < length && content[i] != '\n') {
+                        i++;
+                    }
+                } else {
+                    int end = indexOf("*/", i + 2);
+                    if (end < 0) {
+                        return Kind.FULL;
+                    }
+                    i = end + 2;
+                }
+                if (parens == 0 && !annotated) {
+                    blanked.add(new int[]{start, i});
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                i = skipLiteral(i);
+                if (i < 0) {
+                    return Kind.FULL;
+                }
+                identStart = -1;
+                previous = c;
+                continue;
+            }
+            if (isIdentifierPart(c)) {
+                int start = i;
+                while (i < length && isIdentifierPart(content[i])) {
+                    i++;
+                }
+                boolean qualified = identStart < 0 && (previous == '@' || previous == '.');
+                if (!qualified && (is(start, i, "class") || is(start, i, "interface"))) {
+                    if (bodyDepth > 0) {
+                        // Local class, declared inside a body that would be dropped
+                        return Kind.FULL;
+                    }
+                    classes++;
+                    typePending = true;
+                } else if (is(start, i, "enum") || (identStart < 0 && previous == '@' && is(start, i, "interface"))) {
+                    typePending = true;
+                } else if (is(start, i, "new")) {
+                    afterNew = true;
+                }
+                annotation = identStart < 0 && previous == '@';
+                identStart = start;
+                identEnd = i;
+                continue;
+            }
+
+            switch (c) {
+                case '(':
+                    // A call is a name followed by '(' that is not a constructor, an annotation
+                    // or a statement keyword
+                    if (bodyDepth > 0 && identStart >= 0 && !afterNew && !annotation
+                            && !isKeyword(identStart, identEnd)) {
+                        calls = true;
+                    }
+                    afterNew = false;
+                    parens++;
+                    break;
+                case ')':
+                    parens--;
+                    afterNew = false;
+                    break;
+                case '{': {
+                    if (depth == kinds.length) {
+                        kinds = Arrays.copyOf(kinds, depth * 2);
+                        savedParens = Arrays.copyOf(savedParens, depth * 2);
+                        openedAt = Arrays.copyOf(openedAt, depth * 2);
+                        blank = Arrays.copyOf(blank, depth * 2);
+                    }
+                    boolean inType = depth > 0 && kinds[depth - 1] == TYPE && parens == 0;
+                    if (typePending && parens == 0 && (depth == 0 || kinds[depth - 1] == TYPE)) {
+                        kinds[depth] = TYPE;
+                        blank[depth] = false;
+                    } else {
+                        kinds[depth] = BODY;
+                        // Method, constructor and initializer bodies follow ')', a throws clause
+                        // or 'static'; array initializers follow '=' or ','
+                        blank[depth] = inType && (identStart >= 0 || previous == ')');
+                        bodyDepth++;
+                    }
+                    if (depth == 0 && kinds[depth] == BODY) {
+                        return Kind.FULL;
+                    }
+                    savedParens[depth] = parens;
+                    openedAt[depth] = i;
+                    depth++;
+                    parens = 0;
+                    annotated = false;
+                    typePending = false;
+                    afterNew = false;
+                    break;
+                }
+                case '}':
+                    if (depth == 0) {
+                        return Kind.FULL;
+                    }
+                    depth--;
+                    if (kinds[depth] == BODY) {
+                        bodyDepth--;
+                        if (blank[depth]) {
+                            blanked.add(new int[]{openedAt[depth] + 1, i});
+                        }
+                    }
+                    parens = savedParens[depth];
+                    annotated = false;
+                    afterNew = false;
+                    break;
+                case '@':
+                    annotated |= parens == 0;
+                    break;
+                case ';':
+                    annotated = false;
+                    typePending = false;
+                    afterNew = false;
+                    break;
+                case '[':
+                    afterNew = false;
+                    break;
+                default:
+                    break;
+            }
+            identStart = -1;
+            previous = c;
+            i++;
+        }
+
+        if (depth != 0) {
+            return Kind.FULL;
+        }
+        if (classes == 0) {
+            return Kind.NO_CLASSES;
+        }
+        return calls ? Kind.FULL : Kind.DECLARATIONS_ONLY;
+    }
+
+    /**
+     * Position after the closing quote of a string, text block or character literal,
+     * or -1 if it is not closed
+     */
+    private int skipLiteral(int start) {
+        byte quote = content[start];
+        if (quote == '"' && start + 2 < content.length && content[start + 1] == '"' && content[start + 2] == '"') {
+            int end = indexOf("\"\"\"", start + 3);
+            while (end > 0 && content[end - 1] == '\\') {
+                end = indexOf("\"\"\"", end + 1);
+            }
+            return end < 0 ? -1 : end + 3;
+        }
+        for (int i = start + 1; i < content.length; i++) {
+            byte c = content[i];
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(String needle, int from) {
+        outer:
+        for (int i = from; i <= content.length - needle.length(); i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (content[i + j] != needle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private boolean is(int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (content[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keywords that can be followed by '(' without being a method call
+     */
+    private boolean isKeyword(int start, int end) {
+        for (String keyword : PAREN_KEYWORDS) {
+            if (is(start, end, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifierPart(byte c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '$' || c < 0;
+    }
+}
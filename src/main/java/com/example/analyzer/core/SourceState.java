@@ -0,0 +1,81 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.MethodCall;
+import com.example.analyzer.model.ServiceInfo;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parse output of an analysis kept per source file, so that an update can re-parse only the
+ * touched files and reassemble the result in the order a full analysis would produce.
+ */
+final class SourceState {
+    private final Map<String, List<Path>> serviceFiles = new HashMap<>();
+    private final Map<Path, List<ParsedClass>> fileClasses = new HashMap<>();
+    private final Map<ParsedClass, List<MethodCall>> classCalls = new IdentityHashMap<>();
+
+    /**
+     * Java files of a service, in scan order
+     */
+    List<Path> getFiles(ServiceInfo service) {
+        return serviceFiles.getOrDefault(service.getId(), Collections.emptyList());
+    }
+
+    void setFiles(ServiceInfo service, List<Path> files) {
+        serviceFiles.put(service.getId(), files);
+    }
+
+    boolean isKnown(Path file) {
+        return fileClasses.containsKey(file);
+    }
+
+    /**
+     * Record the classes of a file; a file that could not be parsed has none
+     */
+    void putFile(Path file, List<ParsedClass> classes) {
+        fileClasses.put(file, classes != null ? classes : Collections.emptyList());
+    }
+
+    /**
+     * Forget a file and the calls of its classes
+     *
+     * @return the classes the file had, empty if it was unknown
+     */
+    List<ParsedClass> removeFile(Path file) {
+        List<ParsedClass> classes = fileClasses.remove(file);
+        if (classes == null) {
+            return Collections.emptyList();
+        }
+        for (ParsedClass parsedClass : classes) {
+            classCalls.remove(parsedClass);
+        }
+        return classes;
+    }
+
+    void putCalls(ParsedClass parsedClass, List<MethodCall> calls) {
+        classCalls.put(parsedClass, calls);
+    }
+
+    List<MethodCall> getCalls(ParsedClass parsedClass) {
+        return classCalls.getOrDefault(parsedClass, Collections.emptyList());
+    }
+
+    /**
+     * Classes of all services in service, file and declaration order
+     */
+    List<ParsedClass> parsedClasses(List<ServiceInfo> services) {
+        List<ParsedClass> parsedClasses = new ArrayList<>(classCalls.size());
+        for (ServiceInfo service : services) {
+            for (Path file : getFiles(service)) {
+                parsedClasses.addAll(fileClasses.getOrDefault(file, Collections.emptyList()));
+            }
+        }
+        return parsedClasses;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.analyzer.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the source trees of the analyzed services and reports touched Java files in batches.
+ * A WatchService only covers single directories, so every directory below the roots is
+ * registered, including directories created later.
+ */
+public class SourceWatcher implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(SourceWatcher.class);
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final long debounceMillis;
+
+    /**
+     * @param roots          source directories to watch; missing ones are skipped
+     * @param debounceMillis quiet period that ends a batch of changes
+     */
+    public SourceWatcher(List<Path> roots, long debounceMillis) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceMillis = debounceMillis;
+        for (Path root : roots) {
+            if (Files.isDirectory(root)) {
+                registerTree(root, null);
+            }
+        }
+    }
+
+    /**
+     * Number of watched directories
+     */
+    public int getDirectoryCount() {
+        return directories.size();
+    }
+
+    /**
+     * Block until Java sources change, then collect further changes until none arrived for
+     * the debounce period
+     *
+     * @return touched Java files and created or deleted directories, or null if events were
+     * lost and the sources have to be analyzed again completely
+     */
+    public Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changes = new LinkedHashSet<>();
+        boolean overflow = false;
+        while (changes.isEmpty() && !overflow) {
+            WatchKey key = watchService.take();
+            while (key != null) {
+                overflow |= collect(key, changes);
+                key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return overflow ? null : changes;
+    }
+
+    /**
+     * Add the changes of a signalled key
+     *
+     * @return true if events were lost
+     */
+    private boolean collect(WatchKey key, Set<Path> changes) {
+        Path directory = directories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                // Files may have been written before the directory was registered
+                changes.add(path);
+                registerTree(path, changes);
+            } else if (path.toString().endsWith(".java")
+                    || (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && directories.containsValue(path))) {
+                changes.add(path);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * Register a directory tree, adding the Java files found in it to changes if given
+     */
+    private void registerTree(Path root, Set<Path> changes) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    WatchKey key = dir.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                    directories.put(key, dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (changes != null && file.toString().endsWith(".java")) {
+                        changes.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to watch {}: {}", root, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
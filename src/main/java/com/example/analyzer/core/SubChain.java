@@ -0,0 +1,26 @@
+package com.example.analyzer.core;
+
+/**
+ * Memoized downstream sub-chain of a method: the nodes a traversal adds below the method when
+ * it starts with none of them visited and no budget applies. It is a slice of the buffer of the
+ * chain it was first built in.
+ */
+final class SubChain {
+    final int root;             // Method the sub-chain hangs below
+    final ChainBuffer buffer;
+    final int start;
+    final int end;
+    final int baseLevel;        // Buffer level of the root; direct calls are at baseLevel + 1
+    final int nodeCount;
+    final int depth;            // Levels below the root a traversal needs, including empty expansions
+
+    SubChain(int root, ChainBuffer buffer, int start, int end, int baseLevel, int nodeCount, int depth) {
+        this.root = root;
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.baseLevel = baseLevel;
+        this.nodeCount = nodeCount;
+        this.depth = depth;
+    }
+}
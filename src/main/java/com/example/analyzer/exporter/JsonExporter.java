@@ -1,17 +1,29 @@
 package com.example.analyzer.exporter;
 
 import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.ImpactReport;
+import com.example.analyzer.model.PerformanceMetrics;
+import com.example.analyzer.util.PhaseTimer;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
 /**
  * Exports analysis results to JSON format
@@ -19,6 +31,8 @@ import java.nio.file.Paths;
 public class JsonExporter {
     private static final Logger logger = LoggerFactory.getLogger(JsonExporter.class);
 
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
     private final ObjectMapper objectMapper;
 
     public JsonExporter() {
@@ -70,6 +84,103 @@ public class JsonExporter {
         logger.info("Exported analysis result to: {}", path.toAbsolutePath());
     }
 
+    /**
+     * Export analysis result to JSON file section by section through a single JsonGenerator.
+     * Produces the same document as {@link #export(AnalysisResult, String, boolean)}, but every
+     * element is written straight to a buffered file channel, so the whole document never has
+     * to be materialized and nothing is flushed until the buffer fills up.
+     * Top-level sections are written explicitly and must follow the AnalysisResult properties.
+     *
+     * @param prettyPrint false writes compact JSON without whitespace
+     */
+    public void exportStreaming(AnalysisResult result, String outputPath, boolean prettyPrint) throws IOException {
+        exportStreaming(result, outputPath, prettyPrint, null);
+    }
+
+    /**
+     * Streaming export that records an "export" phase in the given performance metrics.
+     * The metadata section is written first, so the phase only shows up in later exports
+     * of the metrics, e.g. the sidecar file.
+     */
+    public void exportStreaming(AnalysisResult result, String outputPath, boolean prettyPrint,
+                                PerformanceMetrics performance) throws IOException {
+        PhaseTimer timer = PhaseTimer.start("export");
+        Path path = Paths.get(outputPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.INDENT_OUTPUT);
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), STREAM_BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+
+            if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
+            }
+
+            generator.writeStartObject();
+            generator.writeFieldName("metadata");
+            writer.writeValue(generator, result.getMetadata());
+            writeSection(generator, writer, "services", result.getServices());
+            writeSection(generator, writer, "classes", result.getClasses());
+            writeSection(generator, writer, "methods", result.getMethods());
+            writeSection(generator, writer, "methodCalls", result.getMethodCalls());
+            writeSection(generator, writer, "callChains", result.getCallChains());
+            writeSection(generator, writer, "recursionClusters", result.getRecursionClusters());
+            generator.writeEndObject();
+        }
+
+        if (performance != null) {
+            performance.addPhase(timer.stop(0, result.getMethodCalls().size()));
+        }
+        logger.info("Exported analysis result to: {}", path.toAbsolutePath());
+    }
+
+    /**
+     * Export performance metrics to a standalone JSON file, e.g. a sidecar of the result
+     */
+    public void exportPerformance(PerformanceMetrics performance, String outputPath) throws IOException {
+        Path path = Paths.get(outputPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        objectMapper.writeValue(path.toFile(), performance);
+        logger.info("Exported performance metrics to: {}", path.toAbsolutePath());
+    }
+
+    /**
+     * Export a change impact report to a standalone JSON file
+     */
+    public void exportImpact(ImpactReport report, String outputPath) throws IOException {
+        Path path = Paths.get(outputPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        objectMapper.writeValue(path.toFile(), report);
+        logger.info("Exported change impact report to: {}", path.toAbsolutePath());
+    }
+
+    private void writeSection(JsonGenerator generator, ObjectWriter writer, String name, List<?> elements)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (elements == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (Object element : elements) {
+            writer.writeValue(generator, element);
+        }
+        generator.writeEndArray();
+    }
+
     /**
      * Load analysis result from JSON file
      */
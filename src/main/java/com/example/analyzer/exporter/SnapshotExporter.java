@@ -0,0 +1,860 @@
+package com.example.analyzer.exporter;
+
+import com.example.analyzer.core.ReachabilityIndex;
+import com.example.analyzer.model.*;
+import com.example.analyzer.util.PhaseTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves and loads analysis results in a compact binary snapshot format.
+ *
+ * Layout: magic, format version, then a sequence of sections, each written as
+ * [int tag][long payload length][payload]. The first section is a string table holding every
+ * distinct string of the result once; all other sections refer to strings by table index
+ * (-1 for null). Loading memory-maps each section, and unknown sections are skipped by length.
+ * An optional last section holds a reachability index; it is loaded separately.
+ */
+public class SnapshotExporter {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotExporter.class);
+
+    private static final int MAGIC = 0x43434153;  // "CCAS"
+    private static final int FORMAT_VERSION = 6;
+
+    private static final int SECTION_STRINGS = 1;
+    private static final int SECTION_METADATA = 2;
+    private static final int SECTION_SERVICES = 3;
+    private static final int SECTION_CLASSES = 4;
+    private static final int SECTION_METHODS = 5;
+    private static final int SECTION_CALLS = 6;
+    private static final int SECTION_CHAINS = 7;
+    private static final int SECTION_RECURSION_CLUSTERS = 8;
+    private static final int LAST_SECTION = SECTION_RECURSION_CLUSTERS;
+    private static final int SECTION_REACHABILITY = 9;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Export analysis result to a binary snapshot file
+     */
+    public void export(AnalysisResult result, String outputPath) throws IOException {
+        export(result, outputPath, null);
+    }
+
+    /**
+     * Export that records an "export" phase in the given performance metrics
+     */
+    public void export(AnalysisResult result, String outputPath, PerformanceMetrics performance) throws IOException {
+        export(result, outputPath, performance, null);
+    }
+
+    /**
+     * Export that also stores a reachability index of the result, if one is given
+     */
+    public void export(AnalysisResult result, String outputPath, PerformanceMetrics performance,
+                       ReachabilityIndex reachability) throws IOException {
+        PhaseTimer timer = PhaseTimer.start("export");
+        Path path = Paths.get(outputPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        // First pass: collect the string table
+        StringCollector collector = new StringCollector();
+        for (int tag = SECTION_METADATA; tag <= LAST_SECTION; tag++) {
+            encodeSection(tag, result, collector);
+        }
+        if (reachability != null) {
+            encodeReachability(reachability, collector);
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter writer = new SectionWriter(channel, collector.index);
+            writer.out.writeInt(MAGIC);
+            writer.out.writeInt(FORMAT_VERSION);
+
+            writer.beginSection(SECTION_STRINGS);
+            writer.out.writeInt(collector.strings.size());
+            for (String s : collector.strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                writer.out.writeInt(bytes.length);
+                writer.out.write(bytes);
+            }
+            writer.endSection();
+
+            for (int tag = SECTION_METADATA; tag <= LAST_SECTION; tag++) {
+                writer.beginSection(tag);
+                encodeSection(tag, result, writer);
+                writer.endSection();
+            }
+            if (reachability != null) {
+                writer.beginSection(SECTION_REACHABILITY);
+                encodeReachability(reachability, writer);
+                writer.endSection();
+            }
+            writer.out.flush();
+        }
+
+        if (performance != null) {
+            performance.addPhase(timer.stop(0, result.getMethodCalls().size()));
+        }
+        logger.info("Exported analysis snapshot to: {} ({} strings)",
+                path.toAbsolutePath(), collector.strings.size());
+    }
+
+    /**
+     * Load analysis result from a binary snapshot file
+     */
+    public AnalysisResult load(String inputPath) throws IOException {
+        AnalysisResult result = new AnalysisResult();
+        Path path = readSections(inputPath, (tag, decoder) -> {
+            if (tag >= SECTION_METADATA && tag <= LAST_SECTION) {
+                decodeSection(tag, decoder, result);
+            }
+        });
+
+        result.buildIndexes();  // Rebuild internal indexes
+        logger.info("Loaded analysis snapshot from: {}", path.toAbsolutePath());
+        return result;
+    }
+
+    /**
+     * Load the reachability index stored with a snapshot, without loading the result
+     *
+     * @return the index, or null if the snapshot has none
+     */
+    public ReachabilityIndex loadReachability(String inputPath) throws IOException {
+        ReachabilityIndex[] reachability = new ReachabilityIndex[1];
+        readSections(inputPath, (tag, decoder) -> {
+            if (tag == SECTION_REACHABILITY) {
+                reachability[0] = decodeReachability(decoder);
+            }
+        });
+        return reachability[0];
+    }
+
+    /**
+     * Map the sections of a snapshot one by one and hand all but the string table to a handler
+     */
+    private Path readSections(String inputPath, SectionHandler handler) throws IOException {
+        Path path = Paths.get(inputPath);
+        if (!Files.exists(path)) {
+            throw new IOException("File not found: " + inputPath);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an analysis snapshot: " + inputPath);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version + ": " + inputPath);
+            }
+
+            String[] strings = null;
+            long position = 8;
+            long size = channel.size();
+            ByteBuffer sectionHeader = ByteBuffer.allocate(12);
+            while (position < size) {
+                sectionHeader.clear();
+                readFully(channel, sectionHeader, position);
+                sectionHeader.flip();
+                int tag = sectionHeader.getInt();
+                long length = sectionHeader.getLong();
+                position += 12;
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("Snapshot section " + tag + " exceeds 2 GB: " + inputPath);
+                }
+
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                if (tag == SECTION_STRINGS) {
+                    strings = decodeStrings(buffer);
+                } else if (tag >= SECTION_METADATA && tag <= SECTION_REACHABILITY) {
+                    if (strings == null) {
+                        throw new IOException("Snapshot section " + tag + " precedes string table: " + inputPath);
+                    }
+                    handler.handle(tag, new Decoder(buffer, strings));
+                } else {
+                    logger.debug("Skipping unknown snapshot section {}", tag);
+                }
+                position += length;
+            }
+        }
+        return path;
+    }
+
+    private interface SectionHandler {
+        void handle(int tag, Decoder decoder);
+    }
+
+    // ---- Encoding ----
+
+    private void encodeSection(int tag, AnalysisResult result, Encoder encoder) throws IOException {
+        switch (tag) {
+            case SECTION_METADATA:
+                encodeMetadata(result.getMetadata(), encoder);
+                break;
+            case SECTION_SERVICES:
+                encoder.writeInt(result.getServices().size());
+                for (ServiceInfo service : result.getServices()) {
+                    encodeService(service, encoder);
+                }
+                break;
+            case SECTION_CLASSES:
+                encoder.writeInt(result.getClasses().size());
+                for (ClassInfo classInfo : result.getClasses()) {
+                    encodeClass(classInfo, encoder);
+                }
+                break;
+            case SECTION_METHODS:
+                encoder.writeInt(result.getMethods().size());
+                for (MethodInfo method : result.getMethods()) {
+                    encodeMethod(method, encoder);
+                }
+                break;
+            case SECTION_CALLS:
+                encoder.writeInt(result.getMethodCalls().size());
+                for (MethodCall call : result.getMethodCalls()) {
+                    encodeMethodCall(call, encoder);
+                }
+                break;
+            case SECTION_CHAINS:
+                encoder.writeInt(result.getCallChains().size());
+                for (CallChain chain : result.getCallChains()) {
+                    encodeCallChain(chain, encoder);
+                }
+                break;
+            case SECTION_RECURSION_CLUSTERS:
+                encoder.writeInt(result.getRecursionClusters().size());
+                for (RecursionCluster cluster : result.getRecursionClusters()) {
+                    encoder.writeString(cluster.getId());
+                    encoder.writeStrings(cluster.getMethodIds());
+                    encoder.writeStrings(cluster.getInvolvedServices());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown section: " + tag);
+        }
+    }
+
+    private void encodeReachability(ReachabilityIndex reachability, Encoder encoder) throws IOException {
+        encoder.writeInt(reachability.getMethodCount());
+        for (int m = 0; m < reachability.getMethodCount(); m++) {
+            encoder.writeString(reachability.getMethodId(m));
+            encoder.writeInt(reachability.componentOf(m));
+        }
+        encoder.writeInt(reachability.getComponentCount());
+        for (int c = 0; c < reachability.getComponentCount(); c++) {
+            encoder.writeBoolean(reachability.isRecursive(c));
+            encoder.writeInt(reachability.dagEnd(c) - reachability.dagStart(c));
+            for (int i = reachability.dagStart(c); i < reachability.dagEnd(c); i++) {
+                encoder.writeInt(reachability.dagTarget(i));
+            }
+        }
+        encoder.writeInt(reachability.getSourceCount());
+        for (int row = 0; row < reachability.getSourceCount(); row++) {
+            encoder.writeInt(reachability.getSource(row));
+            encoder.writeInt(reachability.rowFirstWord(row));
+            encoder.writeInt(reachability.rowEnd(row) - reachability.rowStart(row));
+            for (int i = reachability.rowStart(row); i < reachability.rowEnd(row); i++) {
+                encoder.writeLong(reachability.word(i));
+            }
+        }
+    }
+
+    private void encodeMetadata(AnalysisResult.AnalysisMetadata metadata, Encoder encoder) throws IOException {
+        encoder.writeString(metadata.getAnalysisTime() != null ? metadata.getAnalysisTime().toString() : null);
+        encoder.writeString(metadata.getProjectName());
+        encoder.writeInt(metadata.getTotalServices());
+        encoder.writeInt(metadata.getTotalClasses());
+        encoder.writeInt(metadata.getTotalMethods());
+        PerformanceMetrics performance = metadata.getPerformance();
+        encoder.writeBoolean(performance != null);
+        if (performance != null) {
+            encoder.writeString(performance.getRecordedAt() != null ? performance.getRecordedAt().toString() : null);
+            encoder.writeInt(performance.getThreads());
+            encoder.writeLong(performance.getFilesSkipped());
+            encoder.writeLong(performance.getFilesDeclarationOnly());
+            encoder.writeInt(performance.getPhases().size());
+            for (PhaseMetrics phase : performance.getPhases()) {
+                encoder.writeString(phase.getName());
+                encoder.writeDouble(phase.getWallTimeMs());
+                encoder.writeDouble(phase.getCpuTimeMs());
+                encoder.writeLong(phase.getAllocatedBytes());
+                encoder.writeLong(phase.getFiles());
+                encoder.writeLong(phase.getEdges());
+                encoder.writeDouble(phase.getFilesPerSecond());
+                encoder.writeDouble(phase.getEdgesPerSecond());
+            }
+        }
+    }
+
+    private void encodeService(ServiceInfo service, Encoder encoder) throws IOException {
+        encoder.writeString(service.getId());
+        encoder.writeString(service.getName());
+        encoder.writeString(service.getGroupId());
+        encoder.writeString(service.getArtifactId());
+        encoder.writeString(service.getVersion());
+        encoder.writeString(service.getBasePackage());
+        encoder.writeString(service.getRootPath());
+    }
+
+    private void encodeClass(ClassInfo classInfo, Encoder encoder) throws IOException {
+        encoder.writeString(classInfo.getId());
+        encoder.writeString(classInfo.getServiceId());
+        encoder.writeString(classInfo.getPackageName());
+        encoder.writeString(classInfo.getClassName());
+        encoder.writeString(classInfo.getQualifiedName());
+        encoder.writeEnum(classInfo.getType());
+        encoder.writeStrings(classInfo.getAnnotations());
+        encoder.writeString(classInfo.getFilePath());
+        List<ClassDependency> dependencies = classInfo.getDependencies();
+        encoder.writeInt(dependencies != null ? dependencies.size() : -1);
+        if (dependencies != null) {
+            for (ClassDependency dependency : dependencies) {
+                encoder.writeString(dependency.getTargetClassId());
+                encoder.writeString(dependency.getTargetQualifiedName());
+                encoder.writeString(dependency.getFieldName());
+                encoder.writeEnum(dependency.getInjectionType());
+                encoder.writeEnum(dependency.getScope());
+                encoder.writeString(dependency.getTargetService());
+                encoder.writeString(dependency.getInterfaceName());
+            }
+        }
+    }
+
+    private void encodeMethod(MethodInfo method, Encoder encoder) throws IOException {
+        encoder.writeString(method.getId());
+        encoder.writeString(method.getClassId());
+        encoder.writeString(method.getMethodName());
+        encoder.writeString(method.getSignature());
+        encoder.writeString(method.getReturnType());
+        List<MethodParameter> parameters = method.getParameters();
+        encoder.writeInt(parameters != null ? parameters.size() : -1);
+        if (parameters != null) {
+            for (MethodParameter parameter : parameters) {
+                encoder.writeString(parameter.getName());
+                encoder.writeString(parameter.getType());
+                encoder.writeInt(parameter.getIndex());
+            }
+        }
+        encoder.writeStrings(method.getAnnotations());
+        encoder.writeInt(method.getLineStart());
+        encoder.writeInt(method.getLineEnd());
+    }
+
+    private void encodeMethodCall(MethodCall call, Encoder encoder) throws IOException {
+        encoder.writeString(call.getId());
+        encoder.writeString(call.getSourceMethodId());
+        encoder.writeString(call.getTargetMethodId());
+        encoder.writeString(call.getTargetQualifiedMethod());
+        encoder.writeEnum(call.getCallType());
+        encoder.writeInt(call.getSourceLineNumber());
+        encoder.writeString(call.getCallerExpression());
+        encoder.writeBoolean(call.isCrossService());
+        encoder.writeString(call.getTargetService());
+    }
+
+    private void encodeCallChain(CallChain chain, Encoder encoder) throws IOException {
+        encoder.writeString(chain.getId());
+        encoder.writeBoolean(chain.getEntryPoint() != null);
+        if (chain.getEntryPoint() != null) {
+            encodeNode(chain.getEntryPoint(), encoder);
+        }
+        List<CallChain.CallChainNode> nodes = chain.getChain();
+        encoder.writeInt(nodes != null ? nodes.size() : -1);
+        if (nodes != null) {
+            for (CallChain.CallChainNode node : nodes) {
+                encodeNode(node, encoder);
+            }
+        }
+        encoder.writeInt(chain.getMaxDepth());
+        encoder.writeStrings(chain.getInvolvedServices());
+        encoder.writeBoolean(chain.isCrossService());
+        encoder.writeEnum(chain.getBudgetExceeded());
+        encoder.writeEnum(chain.getEntryPointType());
+        encoder.writeBoolean(chain.isRecursive());
+    }
+
+    private void encodeNode(CallChain.CallChainNode node, Encoder encoder) throws IOException {
+        encoder.writeInt(node.getLevel());
+        encoder.writeString(node.getMethodId());
+        encoder.writeString(node.getClassId());
+        encoder.writeString(node.getServiceId());
+        encoder.writeEnum(node.getCallType());
+        encoder.writeString(node.getHttpEndpoint());
+    }
+
+    // ---- Decoding ----
+
+    private String[] decodeStrings(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private void decodeSection(int tag, Decoder decoder, AnalysisResult result) {
+        int count;
+        switch (tag) {
+            case SECTION_METADATA:
+                result.setMetadata(decodeMetadata(decoder));
+                break;
+            case SECTION_SERVICES:
+                count = decoder.readInt();
+                List<ServiceInfo> services = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    services.add(decodeService(decoder));
+                }
+                result.setServices(services);
+                break;
+            case SECTION_CLASSES:
+                count = decoder.readInt();
+                List<ClassInfo> classes = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    classes.add(decodeClass(decoder));
+                }
+                result.setClasses(classes);
+                break;
+            case SECTION_METHODS:
+                count = decoder.readInt();
+                List<MethodInfo> methods = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    methods.add(decodeMethod(decoder));
+                }
+                result.setMethods(methods);
+                break;
+            case SECTION_CALLS:
+                count = decoder.readInt();
+                List<MethodCall> calls = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    calls.add(decodeMethodCall(decoder));
+                }
+                result.setMethodCalls(calls);
+                break;
+            case SECTION_CHAINS:
+                count = decoder.readInt();
+                List<CallChain> chains = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    chains.add(decodeCallChain(decoder));
+                }
+                result.setCallChains(chains);
+                break;
+            case SECTION_RECURSION_CLUSTERS:
+                count = decoder.readInt();
+                List<RecursionCluster> clusters = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    RecursionCluster cluster = new RecursionCluster(decoder.readString());
+                    cluster.setMethodIds(decoder.readStrings());
+                    cluster.setInvolvedServices(decoder.readStrings());
+                    clusters.add(cluster);
+                }
+                result.setRecursionClusters(clusters);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown section: " + tag);
+        }
+    }
+
+    private ReachabilityIndex decodeReachability(Decoder decoder) {
+        int methodCount = decoder.readInt();
+        String[] methodIds = new String[methodCount];
+        int[] componentOf = new int[methodCount];
+        for (int m = 0; m < methodCount; m++) {
+            methodIds[m] = decoder.readString();
+            componentOf[m] = decoder.readInt();
+        }
+        int componentCount = decoder.readInt();
+        boolean[] recursive = new boolean[componentCount];
+        int[] dagOffsets = new int[componentCount + 1];
+        int[] dagTargets = new int[16];
+        int edges = 0;
+        for (int c = 0; c < componentCount; c++) {
+            recursive[c] = decoder.readBoolean();
+            int count = decoder.readInt();
+            dagOffsets[c] = edges;
+            if (edges + count > dagTargets.length) {
+                dagTargets = Arrays.copyOf(dagTargets, Math.max(dagTargets.length * 2, edges + count));
+            }
+            for (int i = 0; i < count; i++) {
+                dagTargets[edges++] = decoder.readInt();
+            }
+        }
+        dagOffsets[componentCount] = edges;
+        int sourceCount = decoder.readInt();
+        int[] sources = new int[sourceCount];
+        int[] rowOffsets = new int[sourceCount + 1];
+        int[] rowFirstWord = new int[sourceCount];
+        long[] words = new long[16];
+        int wordCount = 0;
+        for (int row = 0; row < sourceCount; row++) {
+            sources[row] = decoder.readInt();
+            rowFirstWord[row] = decoder.readInt();
+            int length = decoder.readInt();
+            rowOffsets[row] = wordCount;
+            if (wordCount + length > words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, wordCount + length));
+            }
+            for (int i = 0; i < length; i++) {
+                words[wordCount++] = decoder.readLong();
+            }
+        }
+        rowOffsets[sourceCount] = wordCount;
+        return ReachabilityIndex.restore(methodIds, componentOf, recursive,
+                dagOffsets, Arrays.copyOf(dagTargets, edges),
+                sources, rowOffsets, rowFirstWord, Arrays.copyOf(words, wordCount));
+    }
+
+    private AnalysisResult.AnalysisMetadata decodeMetadata(Decoder decoder) {
+        AnalysisResult.AnalysisMetadata metadata = new AnalysisResult.AnalysisMetadata();
+        String analysisTime = decoder.readString();
+        metadata.setAnalysisTime(analysisTime != null ? LocalDateTime.parse(analysisTime) : null);
+        metadata.setProjectName(decoder.readString());
+        metadata.setTotalServices(decoder.readInt());
+        metadata.setTotalClasses(decoder.readInt());
+        metadata.setTotalMethods(decoder.readInt());
+        if (decoder.readBoolean()) {
+            PerformanceMetrics performance = new PerformanceMetrics();
+            String recordedAt = decoder.readString();
+            performance.setRecordedAt(recordedAt != null ? LocalDateTime.parse(recordedAt) : null);
+            performance.setThreads(decoder.readInt());
+            performance.setFilesSkipped(decoder.readLong());
+            performance.setFilesDeclarationOnly(decoder.readLong());
+            int count = decoder.readInt();
+            for (int i = 0; i < count; i++) {
+                PhaseMetrics phase = new PhaseMetrics(decoder.readString());
+                phase.setWallTimeMs(decoder.readDouble());
+                phase.setCpuTimeMs(decoder.readDouble());
+                phase.setAllocatedBytes(decoder.readLong());
+                phase.setFiles(decoder.readLong());
+                phase.setEdges(decoder.readLong());
+                phase.setFilesPerSecond(decoder.readDouble());
+                phase.setEdgesPerSecond(decoder.readDouble());
+                performance.addPhase(phase);
+            }
+            metadata.setPerformance(performance);
+        }
+        return metadata;
+    }
+
+    private ServiceInfo decodeService(Decoder decoder) {
+        ServiceInfo service = new ServiceInfo();
+        service.setId(decoder.readString());
+        service.setName(decoder.readString());
+        service.setGroupId(decoder.readString());
+        service.setArtifactId(decoder.readString());
+        service.setVersion(decoder.readString());
+        service.setBasePackage(decoder.readString());
+        service.setRootPath(decoder.readString());
+        return service;
+    }
+
+    private ClassInfo decodeClass(Decoder decoder) {
+        ClassInfo classInfo = new ClassInfo();
+        classInfo.setId(decoder.readString());
+        classInfo.setServiceId(decoder.readString());
+        // Set the name parts as stored instead of deriving them from the qualified name
+        String packageName = decoder.readString();
+        String className = decoder.readString();
+        String qualifiedName = decoder.readString();
+        if (qualifiedName != null) {
+            classInfo.setQualifiedName(qualifiedName);
+        }
+        classInfo.setPackageName(packageName);
+        classInfo.setClassName(className);
+        classInfo.setType(decoder.readEnum(ClassType.class));
+        classInfo.setAnnotations(decoder.readStrings());
+        classInfo.setFilePath(decoder.readString());
+        int count = decoder.readInt();
+        if (count < 0) {
+            classInfo.setDependencies(null);
+        } else {
+            for (int i = 0; i < count; i++) {
+                ClassDependency dependency = new ClassDependency();
+                dependency.setTargetClassId(decoder.readString());
+                dependency.setTargetQualifiedName(decoder.readString());
+                dependency.setFieldName(decoder.readString());
+                dependency.setInjectionType(decoder.readEnum(InjectionType.class));
+                dependency.setScope(decoder.readEnum(DependencyScope.class));
+                dependency.setTargetService(decoder.readString());
+                dependency.setInterfaceName(decoder.readString());
+                classInfo.addDependency(dependency);
+            }
+        }
+        return classInfo;
+    }
+
+    private MethodInfo decodeMethod(Decoder decoder) {
+        MethodInfo method = new MethodInfo();
+        method.setId(decoder.readString());
+        method.setClassId(decoder.readString());
+        method.setMethodName(decoder.readString());
+        method.setSignature(decoder.readString());
+        method.setReturnType(decoder.readString());
+        int count = decoder.readInt();
+        if (count < 0) {
+            method.setParameters(null);
+        } else {
+            for (int i = 0; i < count; i++) {
+                String name = decoder.readString();
+                String type = decoder.readString();
+                method.addParameter(new MethodParameter(name, type, decoder.readInt()));
+            }
+        }
+        method.setAnnotations(decoder.readStrings());
+        method.setLineStart(decoder.readInt());
+        method.setLineEnd(decoder.readInt());
+        return method;
+    }
+
+    private MethodCall decodeMethodCall(Decoder decoder) {
+        MethodCall call = new MethodCall();
+        call.setId(decoder.readString());
+        call.setSourceMethodId(decoder.readString());
+        call.setTargetMethodId(decoder.readString());
+        call.setTargetQualifiedMethod(decoder.readString());
+        call.setCallType(decoder.readEnum(CallType.class));
+        call.setSourceLineNumber(decoder.readInt());
+        call.setCallerExpression(decoder.readString());
+        call.setCrossService(decoder.readBoolean());
+        call.setTargetService(decoder.readString());
+        return call;
+    }
+
+    private CallChain decodeCallChain(Decoder decoder) {
+        CallChain chain = new CallChain(decoder.readString());
+        if (decoder.readBoolean()) {
+            chain.setEntryPoint(decodeNode(decoder));
+        }
+        int count = decoder.readInt();
+        if (count < 0) {
+            chain.setChain(null);
+        } else {
+            for (int i = 0; i < count; i++) {
+                chain.addNode(decodeNode(decoder));
+            }
+        }
+        chain.setMaxDepth(decoder.readInt());
+        chain.setInvolvedServices(decoder.readStrings());
+        chain.setCrossService(decoder.readBoolean());
+        chain.setBudgetExceeded(decoder.readEnum(TraversalBudget.class));
+        chain.setEntryPointType(decoder.readEnum(EntryPointType.class));
+        chain.setRecursive(decoder.readBoolean());
+        return chain;
+    }
+
+    private CallChain.CallChainNode decodeNode(Decoder decoder) {
+        CallChain.CallChainNode node = new CallChain.CallChainNode();
+        node.setLevel(decoder.readInt());
+        node.setMethodId(decoder.readString());
+        node.setClassId(decoder.readString());
+        node.setServiceId(decoder.readString());
+        node.setCallType(decoder.readEnum(CallType.class));
+        node.setHttpEndpoint(decoder.readString());
+        return node;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of snapshot");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Encoding target shared by the string collecting pass and the writing pass,
+     * so the field layout is defined only once
+     */
+    private abstract static class Encoder {
+        abstract void writeString(String value) throws IOException;
+
+        abstract void writeInt(int value) throws IOException;
+
+        abstract void writeBoolean(boolean value) throws IOException;
+
+        abstract void writeLong(long value) throws IOException;
+
+        void writeDouble(double value) throws IOException {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        void writeEnum(Enum<?> value) throws IOException {
+            writeString(value != null ? value.name() : null);
+        }
+
+        void writeStrings(List<String> values) throws IOException {
+            writeInt(values != null ? values.size() : -1);
+            if (values != null) {
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the distinct strings of the result in first-seen order
+     */
+    private static class StringCollector extends Encoder {
+        final Map<String, Integer> index = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+
+        @Override
+        void writeString(String value) {
+            if (value != null && !index.containsKey(value)) {
+                index.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+
+        @Override
+        void writeInt(int value) {
+        }
+
+        @Override
+        void writeBoolean(boolean value) {
+        }
+
+        @Override
+        void writeLong(long value) {
+        }
+    }
+
+    /**
+     * Writes length-prefixed sections to a file channel, patching each length in place
+     */
+    private static class SectionWriter extends Encoder {
+        final FileChannel channel;
+        final DataOutputStream out;
+        final Map<String, Integer> index;
+        private long lengthPosition;
+
+        SectionWriter(FileChannel channel, Map<String, Integer> index) {
+            this.channel = channel;
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            this.index = index;
+        }
+
+        void beginSection(int tag) throws IOException {
+            out.writeInt(tag);
+            out.flush();
+            lengthPosition = channel.position();
+            out.writeLong(0L);
+        }
+
+        void endSection() throws IOException {
+            out.flush();
+            long length = channel.position() - lengthPosition - 8;
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.putLong(0, length);
+            channel.write(buffer, lengthPosition);
+        }
+
+        @Override
+        void writeString(String value) throws IOException {
+            out.writeInt(value != null ? index.get(value) : -1);
+        }
+
+        @Override
+        void writeInt(int value) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        void writeBoolean(boolean value) throws IOException {
+            out.writeBoolean(value);
+        }
+
+        @Override
+        void writeLong(long value) throws IOException {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Reads values of a single mapped section
+     */
+    private static class Decoder {
+        private final ByteBuffer buffer;
+        private final String[] strings;
+
+        Decoder(ByteBuffer buffer, String[] strings) {
+            this.buffer = buffer;
+            this.strings = strings;
+        }
+
+        String readString() {
+            int index = buffer.getInt();
+            return index >= 0 ? strings[index] : null;
+        }
+
+        int readInt() {
+            return buffer.getInt();
+        }
+
+        boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        double readDouble() {
+            return Double.longBitsToDouble(buffer.getLong());
+        }
+
+        <E extends Enum<E>> E readEnum(Class<E> type) {
+            String name = readString();
+            if (name == null) {
+                return null;
+            }
+            return Enum.valueOf(type, name);
+        }
+
+        List<String> readStrings() {
+            int count = readInt();
+            if (count < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.analyzer.model;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,11 +17,18 @@ public class AnalysisResult {
     private List<MethodInfo> methods;
     private List<MethodCall> methodCalls;
     private List<CallChain> callChains;
+    private List<RecursionCluster> recursionClusters;
 
     // Internal indexes for fast lookup
     private transient Map<String, ClassInfo> classIndex;
     private transient Map<String, MethodInfo> methodIndex;
     private transient Map<String, ServiceInfo> serviceIndex;
+    private transient Map<String, ClassInfo> qualifiedNameIndex;
+    private transient Map<String, List<ClassInfo>> simpleNameIndex;
+    private transient Map<String, List<MethodInfo>> classMethodIndex;   // classId -> methods
+    private transient Map<String, List<MethodInfo>> methodArityIndex;   // classId#name/arity -> methods
+    private transient Map<String, List<MethodCall>> outgoingCallIndex;  // sourceMethodId -> calls
+    private transient Map<String, List<MethodCall>> incomingCallIndex;  // targetMethodId -> calls
 
     public AnalysisResult() {
         this.metadata = new AnalysisMetadata();
@@ -29,9 +37,16 @@ public class AnalysisResult {
         this.methods = new ArrayList<>();
         this.methodCalls = new ArrayList<>();
         this.callChains = new ArrayList<>();
+        this.recursionClusters = new ArrayList<>();
         this.classIndex = new HashMap<>();
         this.methodIndex = new HashMap<>();
         this.serviceIndex = new HashMap<>();
+        this.qualifiedNameIndex = new HashMap<>();
+        this.simpleNameIndex = new HashMap<>();
+        this.classMethodIndex = new HashMap<>();
+        this.methodArityIndex = new HashMap<>();
+        this.outgoingCallIndex = new HashMap<>();
+        this.incomingCallIndex = new HashMap<>();
     }
 
     // Getters and Setters
@@ -68,7 +83,7 @@ public class AnalysisResult {
 
     public void addClass(ClassInfo classInfo) {
         this.classes.add(classInfo);
-        this.classIndex.put(classInfo.getId(), classInfo);
+        indexClass(classInfo);
     }
 
     public List<MethodInfo> getMethods() {
@@ -82,7 +97,7 @@ public class AnalysisResult {
 
     public void addMethod(MethodInfo method) {
         this.methods.add(method);
-        this.methodIndex.put(method.getId(), method);
+        indexMethod(method);
     }
 
     public List<MethodCall> getMethodCalls() {
@@ -91,10 +106,12 @@ public class AnalysisResult {
 
     public void setMethodCalls(List<MethodCall> methodCalls) {
         this.methodCalls = methodCalls;
+        rebuildCallIndexes();
     }
 
     public void addMethodCall(MethodCall methodCall) {
         this.methodCalls.add(methodCall);
+        indexMethodCall(methodCall);
     }
 
     public List<CallChain> getCallChains() {
@@ -109,6 +126,14 @@ public class AnalysisResult {
         this.callChains.add(callChain);
     }
 
+    public List<RecursionCluster> getRecursionClusters() {
+        return recursionClusters;
+    }
+
+    public void setRecursionClusters(List<RecursionCluster> recursionClusters) {
+        this.recursionClusters = recursionClusters;
+    }
+
     // Lookup methods
     public ClassInfo getClassById(String id) {
         return classIndex.get(id);
@@ -122,21 +147,90 @@ public class AnalysisResult {
         return serviceIndex.get(id);
     }
 
+    /**
+     * First class registered with the given qualified name
+     */
+    public ClassInfo getClassByQualifiedName(String qualifiedName) {
+        return qualifiedNameIndex.get(qualifiedName);
+    }
+
+    /**
+     * Classes with the given simple name, in the order they were added
+     */
+    public List<ClassInfo> getClassesBySimpleName(String className) {
+        return simpleNameIndex.getOrDefault(className, Collections.emptyList());
+    }
+
+    /**
+     * Methods declared by the given class, in declaration order
+     */
+    public List<MethodInfo> getMethodsByClassId(String classId) {
+        return classMethodIndex.getOrDefault(classId, Collections.emptyList());
+    }
+
+    /**
+     * Methods of the given class with the given name and parameter count, in declaration order
+     */
+    public List<MethodInfo> getMethodsByNameAndArity(String classId, String methodName, int arity) {
+        return methodArityIndex.getOrDefault(methodArityKey(classId, methodName, arity), Collections.emptyList());
+    }
+
+    /**
+     * Calls made from the given method, in the order they were added
+     */
+    public List<MethodCall> getOutgoingCalls(String sourceMethodId) {
+        return outgoingCallIndex.getOrDefault(sourceMethodId, Collections.emptyList());
+    }
+
+    /**
+     * Resolved calls targeting the given method, in the order they were added
+     */
+    public List<MethodCall> getIncomingCalls(String targetMethodId) {
+        return incomingCallIndex.getOrDefault(targetMethodId, Collections.emptyList());
+    }
+
     // Index rebuilding methods
     private void rebuildClassIndex() {
         this.classIndex.clear();
+        this.qualifiedNameIndex.clear();
+        this.simpleNameIndex.clear();
         for (ClassInfo classInfo : classes) {
-            this.classIndex.put(classInfo.getId(), classInfo);
+            indexClass(classInfo);
+        }
+    }
+
+    private void indexClass(ClassInfo classInfo) {
+        this.classIndex.put(classInfo.getId(), classInfo);
+        if (classInfo.getQualifiedName() != null) {
+            this.qualifiedNameIndex.putIfAbsent(classInfo.getQualifiedName(), classInfo);
+        }
+        if (classInfo.getClassName() != null) {
+            this.simpleNameIndex.computeIfAbsent(classInfo.getClassName(), k -> new ArrayList<>()).add(classInfo);
         }
     }
 
     private void rebuildMethodIndex() {
         this.methodIndex.clear();
+        this.classMethodIndex.clear();
+        this.methodArityIndex.clear();
         for (MethodInfo method : methods) {
-            this.methodIndex.put(method.getId(), method);
+            indexMethod(method);
+        }
+    }
+
+    private void indexMethod(MethodInfo method) {
+        this.methodIndex.put(method.getId(), method);
+        this.classMethodIndex.computeIfAbsent(method.getClassId(), k -> new ArrayList<>()).add(method);
+        if (method.getParameters() != null) {
+            String key = methodArityKey(method.getClassId(), method.getMethodName(), method.getParameters().size());
+            this.methodArityIndex.computeIfAbsent(key, k -> new ArrayList<>()).add(method);
         }
     }
 
+    private static String methodArityKey(String classId, String methodName, int arity) {
+        return classId + '#' + methodName + '/' + arity;
+    }
+
     private void rebuildServiceIndex() {
         this.serviceIndex.clear();
         for (ServiceInfo service : services) {
@@ -144,10 +238,30 @@ public class AnalysisResult {
         }
     }
 
+    private void rebuildCallIndexes() {
+        this.outgoingCallIndex.clear();
+        this.incomingCallIndex.clear();
+        for (MethodCall methodCall : methodCalls) {
+            indexMethodCall(methodCall);
+        }
+    }
+
+    private void indexMethodCall(MethodCall methodCall) {
+        if (methodCall.getSourceMethodId() != null) {
+            this.outgoingCallIndex.computeIfAbsent(methodCall.getSourceMethodId(), k -> new ArrayList<>())
+                    .add(methodCall);
+        }
+        if (methodCall.getTargetMethodId() != null) {
+            this.incomingCallIndex.computeIfAbsent(methodCall.getTargetMethodId(), k -> new ArrayList<>())
+                    .add(methodCall);
+        }
+    }
+
     public void buildIndexes() {
         rebuildServiceIndex();
         rebuildClassIndex();
         rebuildMethodIndex();
+        rebuildCallIndexes();
     }
 
     @Override
@@ -158,6 +272,7 @@ public class AnalysisResult {
                 ", methods=" + methods.size() +
                 ", methodCalls=" + methodCalls.size() +
                 ", callChains=" + callChains.size() +
+                ", recursionClusters=" + recursionClusters.size() +
                 '}';
     }
 
@@ -170,6 +285,7 @@ public class AnalysisResult {
         private int totalServices;
         private int totalClasses;
         private int totalMethods;
+        private PerformanceMetrics performance;     // Null when timings would break reproducible output
 
         public AnalysisMetadata() {
             this.analysisTime = LocalDateTime.now();
@@ -215,5 +331,13 @@ public class AnalysisResult {
         public void setTotalMethods(int totalMethods) {
             this.totalMethods = totalMethods;
         }
+
+        public PerformanceMetrics getPerformance() {
+            return performance;
+        }
+
+        public void setPerformance(PerformanceMetrics performance) {
+            this.performance = performance;
+        }
     }
 }
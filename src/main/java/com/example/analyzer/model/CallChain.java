@@ -1,5 +1,7 @@
 package com.example.analyzer.model;
 
+import com.example.analyzer.util.StringPool;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -14,6 +16,9 @@ public class CallChain {
     private int maxDepth;
     private List<String> involvedServices;
     private boolean crossService;
+    private TraversalBudget budgetExceeded;    // Budget that truncated the chain, null if complete
+    private EntryPointType entryPointType;
+    private boolean recursive;                 // Reaches a recursion cluster of the call graph
 
     public CallChain() {
         this.chain = new ArrayList<>();
@@ -67,12 +72,12 @@ public class CallChain {
     }
 
     public void setInvolvedServices(List<String> involvedServices) {
-        this.involvedServices = involvedServices;
+        this.involvedServices = StringPool.internAll(involvedServices);
     }
 
     public void addInvolvedService(String serviceId) {
         if (!this.involvedServices.contains(serviceId)) {
-            this.involvedServices.add(serviceId);
+            this.involvedServices.add(StringPool.intern(serviceId));
         }
     }
 
@@ -84,6 +89,30 @@ public class CallChain {
         this.crossService = crossService;
     }
 
+    public TraversalBudget getBudgetExceeded() {
+        return budgetExceeded;
+    }
+
+    public void setBudgetExceeded(TraversalBudget budgetExceeded) {
+        this.budgetExceeded = budgetExceeded;
+    }
+
+    public EntryPointType getEntryPointType() {
+        return entryPointType;
+    }
+
+    public void setEntryPointType(EntryPointType entryPointType) {
+        this.entryPointType = entryPointType;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public void setRecursive(boolean recursive) {
+        this.recursive = recursive;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -125,7 +154,7 @@ public class CallChain {
             this.level = level;
             this.methodId = methodId;
             this.classId = classId;
-            this.serviceId = serviceId;
+            this.serviceId = StringPool.intern(serviceId);
         }
 
         // Getters and Setters
@@ -158,7 +187,7 @@ public class CallChain {
         }
 
         public void setServiceId(String serviceId) {
-            this.serviceId = serviceId;
+            this.serviceId = StringPool.intern(serviceId);
         }
 
         public CallType getCallType() {
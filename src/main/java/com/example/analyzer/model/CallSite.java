@@ -0,0 +1,93 @@
+package com.example.analyzer.model;
+
+import com.example.analyzer.util.StringPool;
+
+/**
+ * A method call expression found in a method body, before its target is resolved
+ */
+public class CallSite {
+    private String sourceMethodId;
+    private int ordinal;            // Position in the visiting order of the source method
+    private String methodName;
+    private String scope;           // Expression the method is called on, null if unscoped
+    private int argumentCount;
+    private int lineNumber;
+    private String expression;
+
+    public CallSite() {
+    }
+
+    public CallSite(String sourceMethodId, int ordinal, String methodName, String scope, int argumentCount) {
+        this.sourceMethodId = sourceMethodId;
+        this.ordinal = ordinal;
+        this.methodName = StringPool.intern(methodName);
+        this.scope = StringPool.intern(scope);
+        this.argumentCount = argumentCount;
+    }
+
+    // Getters and Setters
+    public String getSourceMethodId() {
+        return sourceMethodId;
+    }
+
+    public void setSourceMethodId(String sourceMethodId) {
+        this.sourceMethodId = sourceMethodId;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public void setMethodName(String methodName) {
+        this.methodName = StringPool.intern(methodName);
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = StringPool.intern(scope);
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    public void setArgumentCount(int argumentCount) {
+        this.argumentCount = argumentCount;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public String toString() {
+        return "CallSite{" +
+                "methodName='" + methodName + '\'' +
+                ", scope='" + scope + '\'' +
+                ", line=" + lineNumber +
+                '}';
+    }
+}
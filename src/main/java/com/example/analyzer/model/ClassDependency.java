@@ -1,5 +1,7 @@
 package com.example.analyzer.model;
 
+import com.example.analyzer.util.StringPool;
+
 import java.util.Objects;
 
 /**
@@ -18,8 +20,8 @@ public class ClassDependency {
     }
 
     public ClassDependency(String targetQualifiedName, String fieldName, InjectionType injectionType, DependencyScope scope) {
-        this.targetQualifiedName = targetQualifiedName;
-        this.fieldName = fieldName;
+        this.targetQualifiedName = StringPool.intern(targetQualifiedName);
+        this.fieldName = StringPool.intern(fieldName);
         this.injectionType = injectionType;
         this.scope = scope;
     }
@@ -38,7 +40,7 @@ public class ClassDependency {
     }
 
     public void setTargetQualifiedName(String targetQualifiedName) {
-        this.targetQualifiedName = targetQualifiedName;
+        this.targetQualifiedName = StringPool.intern(targetQualifiedName);
     }
 
     public String getFieldName() {
@@ -46,7 +48,7 @@ public class ClassDependency {
     }
 
     public void setFieldName(String fieldName) {
-        this.fieldName = fieldName;
+        this.fieldName = StringPool.intern(fieldName);
     }
 
     public InjectionType getInjectionType() {
@@ -70,7 +72,7 @@ public class ClassDependency {
     }
 
     public void setTargetService(String targetService) {
-        this.targetService = targetService;
+        this.targetService = StringPool.intern(targetService);
     }
 
     public String getInterfaceName() {
@@ -78,7 +80,7 @@ public class ClassDependency {
     }
 
     public void setInterfaceName(String interfaceName) {
-        this.interfaceName = interfaceName;
+        this.interfaceName = StringPool.intern(interfaceName);
     }
 
     @Override
@@ -1,5 +1,7 @@
 package com.example.analyzer.model;
 
+import com.example.analyzer.util.StringPool;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -26,7 +28,7 @@ public class ClassInfo {
     public ClassInfo(String id, String serviceId, String qualifiedName) {
         this();
         this.id = id;
-        this.serviceId = serviceId;
+        this.serviceId = StringPool.intern(serviceId);
         this.qualifiedName = qualifiedName;
         parseQualifiedName(qualifiedName);
     }
@@ -34,7 +36,7 @@ public class ClassInfo {
     private void parseQualifiedName(String qualifiedName) {
         int lastDot = qualifiedName.lastIndexOf('.');
         if (lastDot > 0) {
-            this.packageName = qualifiedName.substring(0, lastDot);
+            this.packageName = StringPool.intern(qualifiedName.substring(0, lastDot));
             this.className = qualifiedName.substring(lastDot + 1);
         } else {
             this.className = qualifiedName;
@@ -55,7 +57,7 @@ public class ClassInfo {
     }
 
     public void setServiceId(String serviceId) {
-        this.serviceId = serviceId;
+        this.serviceId = StringPool.intern(serviceId);
     }
 
     public String getPackageName() {
@@ -63,7 +65,7 @@ public class ClassInfo {
     }
 
     public void setPackageName(String packageName) {
-        this.packageName = packageName;
+        this.packageName = StringPool.intern(packageName);
     }
 
     public String getClassName() {
@@ -96,11 +98,11 @@ public class ClassInfo {
     }
 
     public void setAnnotations(List<String> annotations) {
-        this.annotations = annotations;
+        this.annotations = StringPool.internAll(annotations);
     }
 
     public void addAnnotation(String annotation) {
-        this.annotations.add(annotation);
+        this.annotations.add(StringPool.intern(annotation));
     }
 
     public String getFilePath() {
@@ -0,0 +1,11 @@
+package com.example.analyzer.model;
+
+/**
+ * Kind of externally triggered method a call chain can start from
+ */
+public enum EntryPointType {
+    HTTP,               // @GetMapping, @PostMapping, ... on a controller
+    DUBBO,              // Method of a @DubboService implementation
+    SCHEDULED,          // @Scheduled
+    MESSAGE_LISTENER    // @KafkaListener, @RabbitListener, @JmsListener, RocketMQ onMessage
+}
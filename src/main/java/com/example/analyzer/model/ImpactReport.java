@@ -0,0 +1,202 @@
+package com.example.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry points and services affected by the changes between two commits
+ */
+public class ImpactReport {
+    private String baseCommit;
+    private String headCommit;
+    private List<ChangedFile> changedFiles;
+    private List<String> changedMethodIds;     // Baseline methods touched by the changes
+    private List<ImpactedEntryPoint> impactedEntryPoints;
+    private List<String> impactedServices;
+
+    public ImpactReport() {
+        this.changedFiles = new ArrayList<>();
+        this.changedMethodIds = new ArrayList<>();
+        this.impactedEntryPoints = new ArrayList<>();
+        this.impactedServices = new ArrayList<>();
+    }
+
+    public ImpactReport(String baseCommit, String headCommit) {
+        this();
+        this.baseCommit = baseCommit;
+        this.headCommit = headCommit;
+    }
+
+    // Getters and Setters
+    public String getBaseCommit() {
+        return baseCommit;
+    }
+
+    public void setBaseCommit(String baseCommit) {
+        this.baseCommit = baseCommit;
+    }
+
+    public String getHeadCommit() {
+        return headCommit;
+    }
+
+    public void setHeadCommit(String headCommit) {
+        this.headCommit = headCommit;
+    }
+
+    public List<ChangedFile> getChangedFiles() {
+        return changedFiles;
+    }
+
+    public void setChangedFiles(List<ChangedFile> changedFiles) {
+        this.changedFiles = changedFiles;
+    }
+
+    public void addChangedFile(ChangedFile changedFile) {
+        this.changedFiles.add(changedFile);
+    }
+
+    public List<String> getChangedMethodIds() {
+        return changedMethodIds;
+    }
+
+    public void setChangedMethodIds(List<String> changedMethodIds) {
+        this.changedMethodIds = changedMethodIds;
+    }
+
+    public void addChangedMethodId(String methodId) {
+        this.changedMethodIds.add(methodId);
+    }
+
+    public List<ImpactedEntryPoint> getImpactedEntryPoints() {
+        return impactedEntryPoints;
+    }
+
+    public void setImpactedEntryPoints(List<ImpactedEntryPoint> impactedEntryPoints) {
+        this.impactedEntryPoints = impactedEntryPoints;
+    }
+
+    public void addImpactedEntryPoint(ImpactedEntryPoint entryPoint) {
+        this.impactedEntryPoints.add(entryPoint);
+    }
+
+    public List<String> getImpactedServices() {
+        return impactedServices;
+    }
+
+    public void setImpactedServices(List<String> impactedServices) {
+        this.impactedServices = impactedServices;
+    }
+
+    @Override
+    public String toString() {
+        return "ImpactReport{" +
+                "changedFiles=" + changedFiles.size() +
+                ", changedMethods=" + changedMethodIds.size() +
+                ", impactedEntryPoints=" + impactedEntryPoints.size() +
+                ", impactedServices=" + impactedServices.size() +
+                '}';
+    }
+
+    /**
+     * Java file changed between the commits
+     */
+    public static class ChangedFile {
+        private String path;
+        private String status;      // ADDED, MODIFIED, DELETED or RENAMED
+
+        public ChangedFile() {
+        }
+
+        public ChangedFile(String path, String status) {
+            this.path = path;
+            this.status = status;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * Entry point that reaches a changed method, or that was added by the changes
+     */
+    public static class ImpactedEntryPoint {
+        private String methodId;
+        private String qualifiedMethod;
+        private EntryPointType type;
+        private String httpEndpoint;
+        private String serviceId;
+        private boolean added;      // True if the entry point is not in the baseline
+
+        public ImpactedEntryPoint() {
+        }
+
+        public ImpactedEntryPoint(String methodId, String qualifiedMethod, EntryPointType type, String serviceId) {
+            this.methodId = methodId;
+            this.qualifiedMethod = qualifiedMethod;
+            this.type = type;
+            this.serviceId = serviceId;
+        }
+
+        public String getMethodId() {
+            return methodId;
+        }
+
+        public void setMethodId(String methodId) {
+            this.methodId = methodId;
+        }
+
+        public String getQualifiedMethod() {
+            return qualifiedMethod;
+        }
+
+        public void setQualifiedMethod(String qualifiedMethod) {
+            this.qualifiedMethod = qualifiedMethod;
+        }
+
+        public EntryPointType getType() {
+            return type;
+        }
+
+        public void setType(EntryPointType type) {
+            this.type = type;
+        }
+
+        public String getHttpEndpoint() {
+            return httpEndpoint;
+        }
+
+        public void setHttpEndpoint(String httpEndpoint) {
+            this.httpEndpoint = httpEndpoint;
+        }
+
+        public String getServiceId() {
+            return serviceId;
+        }
+
+        public void setServiceId(String serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        public boolean isAdded() {
+            return added;
+        }
+
+        public void setAdded(boolean added) {
+            this.added = added;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.analyzer.model;
 
+import com.example.analyzer.util.StringPool;
+
 import java.util.Objects;
 
 /**
@@ -56,7 +58,7 @@ public class MethodCall {
     }
 
     public void setTargetQualifiedMethod(String targetQualifiedMethod) {
-        this.targetQualifiedMethod = targetQualifiedMethod;
+        this.targetQualifiedMethod = StringPool.intern(targetQualifiedMethod);
     }
 
     public CallType getCallType() {
@@ -96,7 +98,7 @@ public class MethodCall {
     }
 
     public void setTargetService(String targetService) {
-        this.targetService = targetService;
+        this.targetService = StringPool.intern(targetService);
     }
 
     @Override
@@ -1,5 +1,7 @@
 package com.example.analyzer.model;
 
+import com.example.analyzer.util.StringPool;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -27,7 +29,7 @@ public class MethodInfo {
         this();
         this.id = id;
         this.classId = classId;
-        this.methodName = methodName;
+        this.methodName = StringPool.intern(methodName);
         this.signature = signature;
     }
 
@@ -53,7 +55,7 @@ public class MethodInfo {
     }
 
     public void setMethodName(String methodName) {
-        this.methodName = methodName;
+        this.methodName = StringPool.intern(methodName);
     }
 
     public String getSignature() {
@@ -69,7 +71,7 @@ public class MethodInfo {
     }
 
     public void setReturnType(String returnType) {
-        this.returnType = returnType;
+        this.returnType = StringPool.intern(returnType);
     }
 
     public List<MethodParameter> getParameters() {
@@ -89,11 +91,11 @@ public class MethodInfo {
     }
 
     public void setAnnotations(List<String> annotations) {
-        this.annotations = annotations;
+        this.annotations = StringPool.internAll(annotations);
     }
 
     public void addAnnotation(String annotation) {
-        this.annotations.add(annotation);
+        this.annotations.add(StringPool.intern(annotation));
     }
 
     public int getLineStart() {
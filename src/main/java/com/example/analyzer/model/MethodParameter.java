@@ -1,5 +1,7 @@
 package com.example.analyzer.model;
 
+import com.example.analyzer.util.StringPool;
+
 import java.util.Objects;
 
 /**
@@ -14,8 +16,8 @@ public class MethodParameter {
     }
 
     public MethodParameter(String name, String type, int index) {
-        this.name = name;
-        this.type = type;
+        this.name = StringPool.intern(name);
+        this.type = StringPool.intern(type);
         this.index = index;
     }
 
@@ -24,7 +26,7 @@ public class MethodParameter {
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = StringPool.intern(name);
     }
 
     public String getType() {
@@ -32,7 +34,7 @@ public class MethodParameter {
     }
 
     public void setType(String type) {
-        this.type = type;
+        this.type = StringPool.intern(type);
     }
 
     public int getIndex() {
@@ -0,0 +1,83 @@
+package com.example.analyzer.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-phase performance of an analysis run, in execution order
+ */
+public class PerformanceMetrics {
+    private LocalDateTime recordedAt;
+    private int threads;
+    private long filesSkipped;              // Files without classes, not parsed
+    private long filesDeclarationOnly;      // Files without calls, parsed without method bodies
+    private List<PhaseMetrics> phases;
+
+    public PerformanceMetrics() {
+        this.recordedAt = LocalDateTime.now();
+        this.phases = new ArrayList<>();
+    }
+
+    public PerformanceMetrics(int threads) {
+        this();
+        this.threads = threads;
+    }
+
+    public void addPhase(PhaseMetrics phase) {
+        this.phases.add(phase);
+    }
+
+    /**
+     * Find a phase by name, or null if it was not recorded
+     */
+    public PhaseMetrics findPhase(String name) {
+        for (PhaseMetrics phase : phases) {
+            if (phase.getName().equals(name)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getFilesSkipped() {
+        return filesSkipped;
+    }
+
+    public void setFilesSkipped(long filesSkipped) {
+        this.filesSkipped = filesSkipped;
+    }
+
+    public long getFilesDeclarationOnly() {
+        return filesDeclarationOnly;
+    }
+
+    public void setFilesDeclarationOnly(long filesDeclarationOnly) {
+        this.filesDeclarationOnly = filesDeclarationOnly;
+    }
+
+    public List<PhaseMetrics> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(List<PhaseMetrics> phases) {
+        this.phases = phases;
+    }
+}
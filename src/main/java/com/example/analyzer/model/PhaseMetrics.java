@@ -0,0 +1,93 @@
+package com.example.analyzer.model;
+
+/**
+ * Timing and throughput of a single analysis phase
+ */
+public class PhaseMetrics {
+    private String name;
+    private double wallTimeMs;
+    private double cpuTimeMs;           // Summed over all threads, -1 if not supported by the JVM
+    private long allocatedBytes;        // Summed over all threads, -1 if not supported by the JVM
+    private long files;
+    private long edges;
+    private double filesPerSecond;
+    private double edgesPerSecond;
+
+    public PhaseMetrics() {
+    }
+
+    public PhaseMetrics(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    public void setWallTimeMs(double wallTimeMs) {
+        this.wallTimeMs = wallTimeMs;
+    }
+
+    public double getCpuTimeMs() {
+        return cpuTimeMs;
+    }
+
+    public void setCpuTimeMs(double cpuTimeMs) {
+        this.cpuTimeMs = cpuTimeMs;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getFiles() {
+        return files;
+    }
+
+    public void setFiles(long files) {
+        this.files = files;
+    }
+
+    public long getEdges() {
+        return edges;
+    }
+
+    public void setEdges(long edges) {
+        this.edges = edges;
+    }
+
+    public double getFilesPerSecond() {
+        return filesPerSecond;
+    }
+
+    public void setFilesPerSecond(double filesPerSecond) {
+        this.filesPerSecond = filesPerSecond;
+    }
+
+    public double getEdgesPerSecond() {
+        return edgesPerSecond;
+    }
+
+    public void setEdgesPerSecond(double edgesPerSecond) {
+        this.edgesPerSecond = edgesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: wall %.1f ms, cpu %.1f ms, %d KB allocated, %d files, %d edges",
+                name, wallTimeMs, cpuTimeMs, allocatedBytes / 1024, files, edges);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.analyzer.model;
+
+import com.example.analyzer.util.StringPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Methods that call each other recursively (a strongly connected component of the call graph
+ * with a cycle). Call chains through a cluster show each of its methods once.
+ */
+public class RecursionCluster {
+    private String id;
+    private List<String> methodIds;
+    private List<String> involvedServices;
+
+    public RecursionCluster() {
+        this.methodIds = new ArrayList<>();
+        this.involvedServices = new ArrayList<>();
+    }
+
+    public RecursionCluster(String id) {
+        this();
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getMethodIds() {
+        return methodIds;
+    }
+
+    public void setMethodIds(List<String> methodIds) {
+        this.methodIds = methodIds;
+    }
+
+    public void addMethodId(String methodId) {
+        this.methodIds.add(methodId);
+    }
+
+    public List<String> getInvolvedServices() {
+        return involvedServices;
+    }
+
+    public void setInvolvedServices(List<String> involvedServices) {
+        this.involvedServices = StringPool.internAll(involvedServices);
+    }
+
+    public void addInvolvedService(String serviceId) {
+        if (!this.involvedServices.contains(serviceId)) {
+            this.involvedServices.add(StringPool.intern(serviceId));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecursionCluster that = (RecursionCluster) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "RecursionCluster{" +
+                "id='" + id + '\'' +
+                ", methods=" + methodIds.size() +
+                ", services=" + involvedServices +
+                '}';
+    }
+}
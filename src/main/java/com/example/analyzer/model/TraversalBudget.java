@@ -0,0 +1,10 @@
+package com.example.analyzer.model;
+
+/**
+ * Traversal budgets that can cut a call chain short
+ */
+public enum TraversalBudget {
+    DEPTH,      // Maximum call depth below the entry point
+    NODES,      // Maximum number of nodes in a single chain
+    TIME        // Maximum traversal time per entry point
+}
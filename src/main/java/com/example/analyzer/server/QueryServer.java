@@ -0,0 +1,366 @@
+package com.example.analyzer.server;
+
+import com.example.analyzer.core.CallGraph;
+import com.example.analyzer.core.ReachabilityIndex;
+import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.CallChain;
+import com.example.analyzer.model.ClassInfo;
+import com.example.analyzer.model.MethodInfo;
+import com.example.analyzer.model.MethodParameter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only HTTP query API over an analysis kept in memory.
+ *
+ * All answers come from indexes built once at startup, so a query costs a map lookup plus
+ * the size of its answer. Requests run on a fixed number of worker threads with a bounded
+ * queue; when the queue is full the accepting thread runs the request itself, which stops it
+ * from accepting more until a worker is free. Every response is JSON.
+ *
+ * Endpoints (all GET):
+ *   /, /health                       analysis summary
+ *   /methods?q=&limit=               methods whose qualified name contains q
+ *   /chains?endpoint=|method=        call chains by HTTP endpoint or entry method ID
+ *   /callers?method=, /callees?method=   direct callers / callees in the call graph
+ *   /dependencies[?service=]         service-to-service call counts
+ *   /reach?from=&to=, /reachable?from=, /reachers?to=   reachability
+ */
+public class QueryServer {
+    private static final Logger logger = LoggerFactory.getLogger(QueryServer.class);
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int QUEUE_CAPACITY_PER_WORKER = 64;
+
+    private final AnalysisResult result;
+    private final CallGraph graph;
+    private final ReachabilityIndex reachability;
+    private final ObjectMapper objectMapper;
+
+    private final String[] qualifiedMethodNames;
+    private final Map<String, List<CallChain>> chainsByEndpoint = new HashMap<>();
+    private final Map<String, List<CallChain>> chainsByEntryMethod = new HashMap<>();
+    private final List<Map<String, Object>> dependencies;
+
+    private HttpServer server;
+    private ThreadPoolExecutor workers;
+
+    public QueryServer(AnalysisResult result, CallGraph graph, ReachabilityIndex reachability) {
+        this.result = result;
+        this.graph = graph;
+        this.reachability = reachability;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        qualifiedMethodNames = new String[graph.getMethodCount()];
+        for (int m = 0; m < graph.getMethodCount(); m++) {
+            qualifiedMethodNames[m] = qualifiedName(m);
+        }
+        for (CallChain chain : result.getCallChains()) {
+            CallChain.CallChainNode entry = chain.getEntryPoint();
+            if (entry == null) {
+                continue;
+            }
+            if (entry.getHttpEndpoint() != null) {
+                chainsByEndpoint.computeIfAbsent(entry.getHttpEndpoint(), k -> new ArrayList<>()).add(chain);
+            }
+            chainsByEntryMethod.computeIfAbsent(entry.getMethodId(), k -> new ArrayList<>()).add(chain);
+        }
+        dependencies = serviceDependencies();
+    }
+
+    /**
+     * Start serving on a background thread
+     *
+     * @param workerThreads number of threads answering queries
+     */
+    public void start(String host, int port, int workerThreads) throws IOException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerThreads * QUEUE_CAPACITY_PER_WORKER),
+                task -> {
+                    Thread thread = new Thread(task, "query-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.setExecutor(workers);
+        route("/", params -> health());
+        route("/health", params -> health());
+        route("/methods", this::methods);
+        route("/chains", this::chains);
+        route("/callers", params -> neighbours(params, false));
+        route("/callees", params -> neighbours(params, true));
+        route("/dependencies", this::dependencies);
+        route("/reach", this::reach);
+        route("/reachable", params -> reachability.reachableFrom(method(params, "from")));
+        route("/reachers", params -> reachability.reachers(method(params, "to")));
+        server.start();
+        logger.info("Query server listening on http://{}:{}/ with {} worker threads",
+                host, server.getAddress().getPort(), workerThreads);
+    }
+
+    /**
+     * Port the server listens on, e.g. when started on port 0
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+        logger.info("Query server stopped");
+    }
+
+    // ---- Queries ----
+
+    private Object health() {
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", "ok");
+        health.put("services", result.getServices().size());
+        health.put("classes", result.getClasses().size());
+        health.put("methods", graph.getMethodCount());
+        health.put("edges", graph.getEdgeCount());
+        health.put("callChains", result.getCallChains().size());
+        health.put("reachabilitySources", reachability.getSourceCount());
+        return health;
+    }
+
+    private Object methods(Map<String, String> params) {
+        String query = required(params, "q");
+        int limit = limit(params);
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (int m = 0; m < qualifiedMethodNames.length && matches.size() < limit; m++) {
+            if (qualifiedMethodNames[m].contains(query)) {
+                matches.add(methodRef(m));
+            }
+        }
+        return matches;
+    }
+
+    private Object chains(Map<String, String> params) {
+        String endpoint = params.get("endpoint");
+        if (endpoint != null) {
+            return found(chainsByEndpoint.get(endpoint), "endpoint", endpoint);
+        }
+        return found(chainsByEntryMethod.get(method(params, "method")), "entry method", params.get("method"));
+    }
+
+    private Object neighbours(Map<String, String> params, boolean outgoing) {
+        int m = graph.indexOf(method(params, "method"));
+        int start = outgoing ? graph.outStart(m) : graph.inStart(m);
+        int end = outgoing ? graph.outEnd(m) : graph.inEnd(m);
+        List<Map<String, Object>> neighbours = new ArrayList<>(end - start);
+        for (int e = start; e < end; e++) {
+            Map<String, Object> neighbour = methodRef(outgoing ? graph.outTarget(e) : graph.inSource(e));
+            neighbour.put("callType", outgoing ? graph.outCallType(e) : graph.inCallType(e));
+            neighbour.put("crossService", outgoing ? graph.isOutCrossService(e) : graph.isInCrossService(e));
+            neighbours.add(neighbour);
+        }
+        return neighbours;
+    }
+
+    private Object dependencies(Map<String, String> params) {
+        String service = params.get("service");
+        if (service == null) {
+            return dependencies;
+        }
+        List<Map<String, Object>> filtered = new ArrayList<>();
+        for (Map<String, Object> dependency : dependencies) {
+            if (service.equals(dependency.get("from")) || service.equals(dependency.get("to"))) {
+                filtered.add(dependency);
+            }
+        }
+        return filtered;
+    }
+
+    private Object reach(Map<String, String> params) {
+        String from = method(params, "from");
+        String to = method(params, "to");
+        Map<String, Object> answer = new LinkedHashMap<>();
+        answer.put("from", from);
+        answer.put("to", to);
+        answer.put("reachable", reachability.reach(from, to));
+        return answer;
+    }
+
+    // ---- Helpers ----
+
+    /**
+     * Call counts between services, sorted by caller and callee service
+     */
+    private List<Map<String, Object>> serviceDependencies() {
+        Map<String, Map<String, Integer>> counts = new TreeMap<>();
+        for (int m = 0; m < graph.getMethodCount(); m++) {
+            ClassInfo source = graph.getMethodClass(m);
+            if (source == null) {
+                continue;
+            }
+            for (int e = graph.outStart(m); e < graph.outEnd(m); e++) {
+                ClassInfo target = graph.getMethodClass(graph.outTarget(e));
+                if (target != null && !Objects.equals(source.getServiceId(), target.getServiceId())) {
+                    counts.computeIfAbsent(source.getServiceId(), k -> new TreeMap<>())
+                            .merge(target.getServiceId(), 1, Integer::sum);
+                }
+            }
+        }
+        List<Map<String, Object>> dependencies = new ArrayList<>();
+        counts.forEach((from, targets) -> targets.forEach((to, calls) -> {
+            Map<String, Object> dependency = new LinkedHashMap<>();
+            dependency.put("from", from);
+            dependency.put("to", to);
+            dependency.put("calls", calls);
+            dependencies.add(dependency);
+        }));
+        return dependencies;
+    }
+
+    private String qualifiedName(int m) {
+        MethodInfo method = graph.getMethod(m);
+        ClassInfo classInfo = graph.getMethodClass(m);
+        String className = classInfo != null ? classInfo.getQualifiedName() : method.getClassId();
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (MethodParameter parameter : method.getParameters()) {
+            parameters.add(parameter.getType());
+        }
+        return className + "." + method.getMethodName() + parameters;
+    }
+
+    private Map<String, Object> methodRef(int m) {
+        ClassInfo classInfo = graph.getMethodClass(m);
+        Map<String, Object> ref = new LinkedHashMap<>();
+        ref.put("methodId", graph.getMethodId(m));
+        ref.put("method", qualifiedMethodNames[m]);
+        ref.put("serviceId", classInfo != null ? classInfo.getServiceId() : null);
+        return ref;
+    }
+
+    /**
+     * A method ID parameter that must name a method of the graph
+     */
+    private String method(Map<String, String> params, String name) {
+        String methodId = required(params, name);
+        if (graph.indexOf(methodId) < 0) {
+            throw new NotFoundException("Unknown method: " + methodId);
+        }
+        return methodId;
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int limit(Map<String, String> params) {
+        String limit = params.get("limit");
+        return limit != null ? Integer.parseInt(limit) : DEFAULT_LIMIT;
+    }
+
+    private static <T> T found(T value, String kind, String key) {
+        if (value == null) {
+            throw new NotFoundException("No call chains for " + kind + ": " + key);
+        }
+        return value;
+    }
+
+    private void route(String path, Query query) {
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            int status;
+            Object body;
+            try {
+                if (!path.equals(exchange.getRequestURI().getPath())) {
+                    throw new NotFoundException("Unknown path: " + exchange.getRequestURI().getPath());
+                }
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    status = 405;
+                    body = error("Only GET is supported");
+                } else {
+                    status = 200;
+                    body = query.answer(parseQuery(exchange.getRequestURI().getRawQuery()));
+                }
+            } catch (NotFoundException e) {
+                status = 404;
+                body = error(e.getMessage());
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Query {} failed: {}", exchange.getRequestURI(), e.getMessage(), e);
+                status = 500;
+                body = error(e.getMessage());
+            }
+            respond(exchange, status, body);
+            logger.debug("{} {} -> {} in {} us", exchange.getRequestMethod(), exchange.getRequestURI(),
+                    status, (System.nanoTime() - start) / 1000);
+        });
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", message);
+        return error;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, "UTF-8");
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), "UTF-8") : "";
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private interface Query {
+        Object answer(Map<String, String> params);
+    }
+
+    private static class NotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.analyzer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates IDs for services, classes, methods, method calls and call chains.
+ * RANDOM keeps the historical random UUIDs. STABLE and HASH derive every ID from a key
+ * built out of qualified names and signatures (nested under the parent ID), so unchanged
+ * input gets the same IDs on every run; HASH stores that key as a compact 64-bit hash.
+ */
+public class IdGenerator {
+
+    public enum Mode {
+        RANDOM,   // Random UUID per entity
+        STABLE,   // Readable key derived from names and signatures
+        HASH      // 64-bit hash of the stable key, as 16 hex digits
+    }
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Mode mode;
+
+    public IdGenerator() {
+        this(Mode.RANDOM);
+    }
+
+    public IdGenerator(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Whether the same input always produces the same IDs
+     */
+    public boolean isDeterministic() {
+        return mode != Mode.RANDOM;
+    }
+
+    /**
+     * ID of a service, keyed by Maven coordinates
+     */
+    public String serviceId(String groupId, String artifactId) {
+        return generate(groupId == null || groupId.isEmpty() ? artifactId : groupId + ":" + artifactId);
+    }
+
+    /**
+     * ID of a class, keyed by its fully qualified (nested) name within the service
+     */
+    public String classId(String serviceId, String qualifiedName) {
+        return generate(serviceId + "/" + qualifiedName);
+    }
+
+    /**
+     * ID of a method, keyed by its name and parameter types within the class
+     */
+    public String methodId(String classId, String methodName, List<String> parameterTypes) {
+        return generate(classId + "#" + methodName + "(" + String.join(",", parameterTypes) + ")");
+    }
+
+    /**
+     * ID of a method call, keyed by its position in the visiting order of the source method
+     */
+    public String methodCallId(String sourceMethodId, int ordinal) {
+        return generate(sourceMethodId + ":" + ordinal);
+    }
+
+    /**
+     * ID of a recursion cluster, keyed by its first method
+     */
+    public String recursionClusterId(String firstMethodId) {
+        return generate("cluster:" + firstMethodId);
+    }
+
+    /**
+     * ID of a call chain, keyed by its entry method
+     */
+    public String callChainId(String entryMethodId) {
+        return generate("chain:" + entryMethodId);
+    }
+
+    private String generate(String key) {
+        switch (mode) {
+            case STABLE:
+                return key;
+            case HASH:
+                return toHex(hash64(key));
+            default:
+                return UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes of the key, followed by a murmur3 finalizer
+     * to spread similar keys (which share long prefixes) across the whole range
+     */
+    static long hash64(String key) {
+        long h = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static String toHex(long value) {
+        String hex = Long.toHexString(value);
+        StringBuilder sb = new StringBuilder(16);
+        for (int i = hex.length(); i < 16; i++) {
+            sb.append('0');
+        }
+        return sb.append(hex).toString();
+    }
+}
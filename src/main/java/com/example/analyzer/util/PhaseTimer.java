@@ -0,0 +1,110 @@
+package com.example.analyzer.util;
+
+import com.example.analyzer.model.PhaseMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures wall time, CPU time and allocated bytes of a phase.
+ * CPU time and allocations are summed over all live threads, so work done on worker pools
+ * is included; threads that terminate before the phase ends are not counted.
+ */
+public class PhaseTimer {
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final String name;
+    private final long startNanos;
+    private final Map<Long, long[]> startUsage;
+
+    private PhaseTimer(String name) {
+        this.name = name;
+        this.startUsage = threadUsage();
+        this.startNanos = System.nanoTime();
+    }
+
+    public static PhaseTimer start(String name) {
+        return new PhaseTimer(name);
+    }
+
+    /**
+     * Finish the phase
+     *
+     * @param files number of files the phase processed
+     * @param edges number of call edges the phase processed
+     */
+    public PhaseMetrics stop(long files, long edges) {
+        long wallNanos = System.nanoTime() - startNanos;
+        Map<Long, long[]> endUsage = threadUsage();
+
+        PhaseMetrics metrics = new PhaseMetrics(name);
+        metrics.setWallTimeMs(round(wallNanos / 1e6));
+        metrics.setFiles(files);
+        metrics.setEdges(edges);
+        double seconds = wallNanos / 1e9;
+        if (seconds > 0) {
+            metrics.setFilesPerSecond(round(files / seconds));
+            metrics.setEdgesPerSecond(round(edges / seconds));
+        }
+
+        if (endUsage == null) {
+            metrics.setCpuTimeMs(-1);
+            metrics.setAllocatedBytes(-1);
+            return metrics;
+        }
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        for (Map.Entry<Long, long[]> entry : endUsage.entrySet()) {
+            long[] end = entry.getValue();
+            long[] start = startUsage.get(entry.getKey());
+            cpuNanos += Math.max(0, end[0] - (start != null ? start[0] : 0));
+            allocatedBytes += Math.max(0, end[1] - (start != null ? start[1] : 0));
+        }
+        metrics.setCpuTimeMs(round(cpuNanos / 1e6));
+        metrics.setAllocatedBytes(allocatedBytes);
+        return metrics;
+    }
+
+    /**
+     * CPU nanos and allocated bytes per live thread, or null if not supported
+     */
+    private static Map<Long, long[]> threadUsage() {
+        if (THREADS == null) {
+            return null;
+        }
+        long[] ids = THREADS.getAllThreadIds();
+        long[] cpu = THREADS.getThreadCpuTime(ids);
+        long[] allocated = THREADS.getThreadAllocatedBytes(ids);
+        Map<Long, long[]> usage = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (cpu[i] >= 0 && allocated[i] >= 0) {
+                usage.put(ids[i], new long[]{cpu[i], allocated[i]});
+            }
+        }
+        return usage;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        try {
+            if (!threads.isThreadCpuTimeSupported() || !threads.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            threads.setThreadCpuTimeEnabled(true);
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.analyzer.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Analyzer-wide pool of canonical strings.
+ * Type names, package names, annotation text and service IDs repeat across thousands of
+ * model objects; the model setters route them through this pool so each distinct value is
+ * held once. Entity IDs are not pooled: during analysis they are already shared by reference,
+ * and binary snapshots share them through their string table.
+ * The pool is safe for concurrent use and only grows until it is cleared; CallChainEngine
+ * clears it whenever an analysis or an incremental update starts, so a long-running process
+ * only holds the strings of its latest run.
+ */
+public final class StringPool {
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>(1 << 12);
+
+    private StringPool() {
+    }
+
+    /**
+     * Return the canonical instance equal to the given string, or null for null
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = POOL.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    /**
+     * Return a copy of the list holding canonical instances, or null for null
+     */
+    public static List<String> internAll(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> interned = new ArrayList<>(values.size());
+        for (String value : values) {
+            interned.add(intern(value));
+        }
+        return interned;
+    }
+
+    /**
+     * Number of distinct strings held
+     */
+    public static int size() {
+        return POOL.size();
+    }
+
+    public static void clear() {
+        POOL.clear();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.CallChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallChainEngineTest {
+
+    private static final List<String> SERVICES = Arrays.asList(
+            "test-project-complex/user-service", "test-project-complex/order-service",
+            "test-project-complex/payment-service", "test-project-complex/product-service",
+            "test-project-complex/notification-service");
+
+    @Test
+    void repeatedAnalysisOnOneEngineGivesTheSameGraph() {
+        // Watch mode falls back to a full analysis on the same engine
+        CallChainEngine engine = new CallChainEngine();
+        AnalysisResult first = engine.analyze(SERVICES);
+        int edges = engine.getCallGraph().getEdgeCount();
+        long nodes = chainNodes(first);
+        assertTrue(first.getMethodCalls().stream().anyMatch(call -> call.isCrossService()));
+
+        AnalysisResult second = engine.analyze(SERVICES);
+        assertEquals(edges, engine.getCallGraph().getEdgeCount());
+        assertEquals(nodes, chainNodes(second));
+        assertEquals(first.getCallChains().size(), second.getCallChains().size());
+    }
+
+    @Test
+    void updatedChainsReferOnlyToTheCurrentGraph(@TempDir Path projects) throws IOException {
+        List<String> services = new ArrayList<>();
+        for (String service : SERVICES) {
+            Path copy = projects.resolve(Paths.get(service).getFileName());
+            copyTree(Paths.get(service), copy);
+            services.add(copy.toString());
+        }
+        CallChainEngine engine = new CallChainEngine();
+        engine.setIncremental(true);
+        AnalysisResult result = engine.analyze(services);
+        long nodes = chainNodes(result);
+
+        Path changed = projects.resolve("user-service/src/main/java/com/example/user/repository/UserRepository.java");
+        for (int update = 0; update < 2; update++) {
+            Files.write(changed, Files.readAllBytes(changed));
+            engine.update(result, Collections.singleton(changed));
+            for (CallChain chain : result.getCallChains()) {
+                if (chain.getChain() instanceof ChainNodeList) {
+                    assertSame(engine.getCallGraph(), ((ChainNodeList) chain.getChain()).getGraph());
+                }
+            }
+            assertEquals(nodes, chainNodes(result));
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+        }
+    }
+
+    private static long chainNodes(AnalysisResult result) {
+        long nodes = 0;
+        for (CallChain chain : result.getCallChains()) {
+            nodes += chain.getChain().size();
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.CallType;
+import com.example.analyzer.model.ClassInfo;
+import com.example.analyzer.model.MethodCall;
+import com.example.analyzer.model.MethodInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds small call graphs for tests: one class, methods named by their IDs and numbered in
+ * order of first mention, internal calls in the order they are added
+ */
+class CallGraphBuilder {
+    private final List<String> methods = new ArrayList<>();
+    private final List<String[]> calls = new ArrayList<>();
+
+    CallGraphBuilder call(String source, String target) {
+        method(source);
+        method(target);
+        calls.add(new String[]{source, target});
+        return this;
+    }
+
+    CallGraphBuilder tail(String from, int length) {
+        String previous = from;
+        for (int i = 0; i < length; i++) {
+            String next = from + "-" + i;
+            call(previous, next);
+            previous = next;
+        }
+        return this;
+    }
+
+    CallGraphBuilder method(String method) {
+        if (!methods.contains(method)) {
+            methods.add(method);
+        }
+        return this;
+    }
+
+    CallGraph build() {
+        AnalysisResult result = new AnalysisResult();
+        result.addClass(new ClassInfo("class", "service", "com.example.Sample"));
+        for (String method : methods) {
+            result.addMethod(new MethodInfo(method, "class", method, method + "()"));
+        }
+        for (int i = 0; i < calls.size(); i++) {
+            result.addMethodCall(new MethodCall("call-" + i, calls.get(i)[0], calls.get(i)[1],
+                    CallType.INTERNAL_METHOD_CALL));
+        }
+        return CallGraph.build(result, null);
+    }
+}
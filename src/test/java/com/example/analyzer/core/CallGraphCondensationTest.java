@@ -0,0 +1,102 @@
+package com.example.analyzer.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CallGraphCondensationTest {
+
+    private CallGraph graph;
+    private CallGraphCondensation condensation;
+
+    @BeforeEach
+    void condense() {
+        graph = new CallGraphBuilder()
+                // Self-loop, called from p
+                .call("p", "s").call("s", "s")
+                // Chain c1 -> c2 -> c3 into the two-method cycle a <-> b
+                .call("c1", "c2").call("c2", "c3").call("c3", "a")
+                .call("a", "b").call("b", "a")
+                // Diamond without recursion
+                .call("d1", "d2").call("d1", "d3").call("d2", "d4").call("d3", "d4")
+                .method("lonely")
+                .build();
+        condensation = CallGraphCondensation.of(graph);
+    }
+
+    @Test
+    void cycleMembersShareAComponent() {
+        assertEquals(component("a"), component("b"));
+        assertEquals(graph.getMethodCount() - 1, condensation.getComponentCount());
+
+        Set<Integer> components = new HashSet<>();
+        for (int m = 0; m < graph.getMethodCount(); m++) {
+            components.add(condensation.componentOf(m));
+        }
+        assertEquals(condensation.getComponentCount(), components.size());
+
+        int cycle = component("a");
+        assertEquals(2, condensation.memberEnd(cycle) - condensation.memberStart(cycle));
+        assertEquals(graph.indexOf("a"), condensation.member(condensation.memberStart(cycle)));
+        assertEquals(graph.indexOf("b"), condensation.member(condensation.memberStart(cycle) + 1));
+    }
+
+    @Test
+    void onlyCyclesAndSelfLoopsAreRecursive() {
+        assertTrue(condensation.isRecursive(component("s")));
+        assertTrue(condensation.isRecursive(component("a")));
+        for (String method : new String[]{"p", "c1", "c2", "c3", "d1", "d2", "d3", "d4", "lonely"}) {
+            assertFalse(condensation.isRecursive(component(method)), method);
+        }
+    }
+
+    @Test
+    void recursionIsReachedThroughCallers() {
+        for (String method : new String[]{"p", "s", "c1", "c2", "c3", "a", "b"}) {
+            assertTrue(condensation.reachesRecursion(component(method)), method);
+        }
+        for (String method : new String[]{"d1", "d2", "d3", "d4", "lonely"}) {
+            assertFalse(condensation.reachesRecursion(component(method)), method);
+        }
+    }
+
+    @Test
+    void dagEdgesRunToLowerComponents() {
+        int edges = 0;
+        for (int c = 0; c < condensation.getComponentCount(); c++) {
+            for (int i = condensation.dagStart(c); i < condensation.dagEnd(c); i++) {
+                assertTrue(condensation.dagTarget(i) < c, "edge " + c + " -> " + condensation.dagTarget(i));
+                edges++;
+            }
+        }
+        assertEquals(condensation.getDagEdgeCount(), edges);
+        // The cycle edges and the self-loop vanish; the diamond keeps all four edges
+        assertEquals(8, edges);
+        assertDagEdge("c3", "a");
+        assertDagEdge("d1", "d2");
+        assertDagEdge("d1", "d3");
+        assertNotEquals(component("d2"), component("d3"));
+    }
+
+    private void assertDagEdge(String source, String target) {
+        int from = component(source);
+        for (int i = condensation.dagStart(from); i < condensation.dagEnd(from); i++) {
+            if (condensation.dagTarget(i) == component(target)) {
+                return;
+            }
+        }
+        fail("No DAG edge " + source + " -> " + target);
+    }
+
+    private int component(String method) {
+        return condensation.componentOf(graph.indexOf(method));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.analyzer.core;
+
+import com.example.analyzer.model.CallChain;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChainTraversalTest {
+
+    private static final List<ChainLimits> LIMITS = Arrays.asList(
+            new ChainLimits(20, Integer.MAX_VALUE, 0),
+            new ChainLimits(3, Integer.MAX_VALUE, 0),
+            new ChainLimits(6, Integer.MAX_VALUE, 0),
+            new ChainLimits(14, Integer.MAX_VALUE, 0),
+            new ChainLimits(20, 5, 0),
+            new ChainLimits(20, 14, 0),
+            new ChainLimits(5, 12, 0));
+
+    @Test
+    void memoizedChainsMatchPlainWalkOnDiamond() {
+        // Entries share a diamond a -> {b, c} -> d, followed by a tail of ten methods, at
+        // different levels
+        CallGraphBuilder builder = new CallGraphBuilder();
+        builder.call("e1", "a").call("e2", "x").call("x", "a").call("e4", "y").call("y", "x");
+        builder.call("a", "b").call("a", "c").call("b", "d").call("c", "d");
+        builder.tail("d", 10);
+        builder.call("e3", "c");
+
+        assertSameChains(builder.build(), "e1", "e2", "e3", "e4", "e1");
+    }
+
+    @Test
+    void memoizedChainsMatchPlainWalkOnCycle() {
+        // Entries reach the cycle a -> b -> c -> a at different methods; c leads to a tail
+        CallGraphBuilder builder = new CallGraphBuilder();
+        builder.call("e1", "a").call("e2", "b").call("e3", "a").call("e4", "c");
+        builder.call("a", "b").call("b", "c").call("c", "a");
+        builder.call("b", "b");
+        builder.tail("c", 10);
+
+        assertSameChains(builder.build(), "e1", "e2", "e3", "e4", "e2");
+    }
+
+    /**
+     * Traverse the entries in order with one shared memo, and each of them with a fresh memo
+     * that never holds a sub-chain, and require identical chains under every limit
+     */
+    private static void assertSameChains(CallGraph graph, String... entries) {
+        long splices = 0;
+        for (ChainLimits limits : LIMITS) {
+            ChainTraversal memoized = new ChainTraversal(graph, limits,
+                    new AtomicReferenceArray<>(graph.getMethodCount()));
+            for (String entry : entries) {
+                ChainTraversal plain = new ChainTraversal(graph, limits,
+                        new AtomicReferenceArray<>(graph.getMethodCount()));
+                String expected = traverse(graph, plain, entry);
+                assertEquals(expected, traverse(graph, memoized, entry),
+                        "entry " + entry + ", max depth " + limits.getMaxDepth()
+                                + ", max nodes " + limits.getMaxNodes());
+                assertEquals(0, plain.getSplices());
+            }
+            splices += memoized.getSplices();
+        }
+        assertTrue(splices > 0, "no memoized sub-chain was spliced");
+    }
+
+    private static String traverse(CallGraph graph, ChainTraversal traversal, String entry) {
+        CallChain chain = new CallChain(entry);
+        CallChain.CallChainNode entryNode = new CallChain.CallChainNode(0, entry, "class", "service");
+        chain.setEntryPoint(entryNode);
+        chain.addInvolvedService("service");
+        chain.setBudgetExceeded(traversal.traverse(graph.indexOf(entry), chain));
+
+        StringBuilder sb = new StringBuilder(String.valueOf(chain.getBudgetExceeded()));
+        for (CallChain.CallChainNode node : chain.getChain()) {
+            sb.append(' ').append(node.getLevel()).append(':').append(node.getMethodId());
+        }
+        return sb.toString();
+    }
+}
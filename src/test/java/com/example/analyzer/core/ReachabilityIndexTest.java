@@ -0,0 +1,189 @@
+package com.example.analyzer.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReachabilityIndexTest {
+
+    private CallGraph graph;
+    private CallGraphCondensation condensation;
+
+    @BeforeEach
+    void buildGraph() {
+        graph = new CallGraphBuilder()
+                // Three-method cycle a -> b -> c -> a with a self-loop s hanging off it
+                .call("p", "a").call("a", "b").call("b", "c").call("c", "a")
+                .call("b", "s").call("s", "s")
+                // The cycle leads into a long tail, so closures span several bitset words
+                .call("c", "d").call("x", "d").call("d", "e")
+                .tail("e", 150)
+                .call("late", "e-120")
+                .method("lonely")
+                .build();
+        condensation = CallGraphCondensation.of(graph);
+    }
+
+    @Test
+    void sourceRowsMatchSearch() {
+        int n = graph.getMethodCount();
+        int[] all = new int[n];
+        for (int m = 0; m < n; m++) {
+            all[m] = m;
+        }
+        assertMatchesSearch(ReachabilityIndex.build(graph, condensation, all));
+    }
+
+    @Test
+    void dagSearchMatchesSearch() {
+        // No sources: every query from a method searches the DAG
+        assertMatchesSearch(ReachabilityIndex.build(graph, condensation, new int[0]));
+    }
+
+    @Test
+    void methodReachesItselfOnlyThroughRecursion() {
+        for (ReachabilityIndex index : new ReachabilityIndex[]{
+                ReachabilityIndex.build(graph, condensation, sources("p", "a", "s", "d")),
+                ReachabilityIndex.build(graph, condensation, new int[0])}) {
+            assertTrue(index.reach("a", "a"));
+            assertTrue(index.reach("s", "s"));
+            assertFalse(index.reach("p", "p"));
+            assertFalse(index.reach("d", "d"));
+            assertTrue(index.reachableFrom("a").contains("a"));
+            assertFalse(index.reachableFrom("d").contains("d"));
+        }
+        ReachabilityIndex index = ReachabilityIndex.build(graph, condensation, sources("p", "a", "s", "d"));
+        assertEquals(Arrays.asList("p", "a"), index.reachers("a"));
+        assertEquals(Arrays.asList("p", "a", "s"), index.reachers("s"));
+        assertEquals(Arrays.asList("p", "a"), index.reachers("d"));
+        assertFalse(index.reach("lonely", "lonely"));
+        assertFalse(index.reach("unknown", "a"));
+    }
+
+    @Test
+    void restoredIndexAnswersAlike() {
+        ReachabilityIndex index = ReachabilityIndex.build(graph, condensation, sources("p", "x", "late", "e-10"));
+        ReachabilityIndex restored = restore(index);
+
+        assertTrue(restored.matches(graph, condensation));
+        for (int from = 0; from < graph.getMethodCount(); from++) {
+            String fromId = graph.getMethodId(from);
+            assertEquals(index.reachableFrom(fromId), restored.reachableFrom(fromId));
+            assertEquals(index.reachers(fromId), restored.reachers(fromId));
+        }
+
+        CallGraph other = new CallGraphBuilder().call("p", "a").call("a", "b").build();
+        assertFalse(restored.matches(other, CallGraphCondensation.of(other)));
+        // Same methods in another order
+        CallGraph reordered = new CallGraphBuilder().method("a").call("p", "a").call("a", "b").build();
+        ReachabilityIndex small = ReachabilityIndex.build(other, CallGraphCondensation.of(other), new int[0]);
+        assertFalse(small.matches(reordered, CallGraphCondensation.of(reordered)));
+    }
+
+    /**
+     * Compare every query with a plain breadth-first search over the method graph
+     */
+    private void assertMatchesSearch(ReachabilityIndex index) {
+        int n = graph.getMethodCount();
+        List<String> sourceIds = new ArrayList<>();
+        for (int s = 0; s < index.getSourceCount(); s++) {
+            sourceIds.add(graph.getMethodId(index.getSource(s)));
+        }
+        boolean[][] expected = new boolean[n][];
+        for (int from = 0; from < n; from++) {
+            expected[from] = search(from);
+        }
+        for (int from = 0; from < n; from++) {
+            String fromId = graph.getMethodId(from);
+            List<String> reachable = new ArrayList<>();
+            for (int to = 0; to < n; to++) {
+                String toId = graph.getMethodId(to);
+                assertEquals(expected[from][to], index.reach(fromId, toId), fromId + " -> " + toId);
+                if (expected[from][to]) {
+                    reachable.add(toId);
+                }
+            }
+            assertEquals(reachable, index.reachableFrom(fromId), fromId);
+        }
+        for (int to = 0; to < n; to++) {
+            List<String> reachers = new ArrayList<>();
+            for (String sourceId : sourceIds) {
+                if (expected[graph.indexOf(sourceId)][to]) {
+                    reachers.add(sourceId);
+                }
+            }
+            assertEquals(reachers, index.reachers(graph.getMethodId(to)), graph.getMethodId(to));
+        }
+    }
+
+    private boolean[] search(int from) {
+        boolean[] reached = new boolean[graph.getMethodCount()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            int method = queue.poll();
+            for (int e = graph.outStart(method); e < graph.outEnd(method); e++) {
+                int target = graph.outTarget(e);
+                if (!reached[target]) {
+                    reached[target] = true;
+                    queue.add(target);
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static ReachabilityIndex restore(ReachabilityIndex index) {
+        String[] methodIds = new String[index.getMethodCount()];
+        int[] componentOf = new int[index.getMethodCount()];
+        for (int m = 0; m < methodIds.length; m++) {
+            methodIds[m] = index.getMethodId(m);
+            componentOf[m] = index.componentOf(m);
+        }
+        int components = index.getComponentCount();
+        boolean[] recursive = new boolean[components];
+        int[] dagOffsets = new int[components + 1];
+        int[] dagTargets = new int[index.getDagEdgeCount()];
+        for (int c = 0; c < components; c++) {
+            recursive[c] = index.isRecursive(c);
+            dagOffsets[c] = index.dagStart(c);
+            dagOffsets[c + 1] = index.dagEnd(c);
+            for (int i = index.dagStart(c); i < index.dagEnd(c); i++) {
+                dagTargets[i] = index.dagTarget(i);
+            }
+        }
+        int rows = index.getSourceCount();
+        int[] sources = new int[rows];
+        int[] rowOffsets = new int[rows + 1];
+        int[] rowFirstWord = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            sources[row] = index.getSource(row);
+            rowOffsets[row] = index.rowStart(row);
+            rowOffsets[row + 1] = index.rowEnd(row);
+            rowFirstWord[row] = index.rowFirstWord(row);
+        }
+        long[] words = new long[index.getWordCount()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = index.word(i);
+        }
+        return ReachabilityIndex.restore(methodIds, componentOf, recursive, dagOffsets, dagTargets,
+                sources, rowOffsets, rowFirstWord, words);
+    }
+
+    private int[] sources(String... methodIds) {
+        int[] sources = new int[methodIds.length];
+        for (int i = 0; i < methodIds.length; i++) {
+            sources[i] = graph.indexOf(methodIds[i]);
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.analyzer.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SourcePrefilterTest {
+
+    @Test
+    void localClassNeedsFullParse() {
+        assertEquals(SourcePrefilter.Kind.FULL, kind(
+                "class A {\n"
+                        + "    void m() {\n"
+                        + "        class Local {\n"
+                        + "        }\n"
+                        + "    }\n"
+                        + "}\n"));
+        assertEquals(SourcePrefilter.Kind.FULL, kind(
+                "class A {\n"
+                        + "    Object o = new Object() {\n"
+                        + "        class Inner {\n"
+                        + "        }\n"
+                        + "    };\n"
+                        + "}\n"));
+    }
+
+    @Test
+    void anonymousClassInFieldInitializer() {
+        // A method declared in the anonymous class looks like a call, so it is parsed in full
+        assertEquals(SourcePrefilter.Kind.FULL, kind(
+                "class A {\n"
+                        + "    Runnable r = new Runnable() {\n"
+                        + "        public void run() {\n"
+                        + "        }\n"
+                        + "    };\n"
+                        + "}\n"));
+
+        String source = "class A {\n"
+                + "    Object lock = new Object() {\n"
+                + "        int count = 1;\n"
+                + "    };\n"
+                + "}\n";
+        assertEquals(SourcePrefilter.Kind.DECLARATIONS_ONLY, kind(source));
+        String declarations = declarations(source);
+        assertTrue(declarations.contains("Object lock = new Object() {"));
+        assertFalse(declarations.contains("count"));
+        assertSameLines(source, declarations);
+    }
+
+    @Test
+    void textBlockContentIsNotScanned() {
+        String source = "class A {\n"
+                + "    String sql = \"\"\"\n"
+                + "        select count(*) from t where class = 'x' { \\\"\"\" }\n"
+                + "        \"\"\";\n"
+                + "    char quote = '\"';\n"
+                + "}\n";
+        assertEquals(SourcePrefilter.Kind.DECLARATIONS_ONLY, kind(source));
+        assertEquals(source, declarations(source));
+    }
+
+    @Test
+    void commentsAfterAnAnnotationAreKept() {
+        String source = "class A {\n"
+                + "    /* dropped */\n"
+                + "    @Deprecated // kept\n"
+                + "    int x;\n"
+                + "    // dropped\n"
+                + "    @Override /* kept */ public String toString() {\n"
+                + "        return \"a\"; // dropped with the body\n"
+                + "    }\n"
+                + "}\n";
+        assertEquals(SourcePrefilter.Kind.DECLARATIONS_ONLY, kind(source));
+        String declarations = declarations(source);
+        assertTrue(declarations.contains("@Deprecated // kept"));
+        assertTrue(declarations.contains("@Override /* kept */ public String toString() {"));
+        assertFalse(declarations.contains("dropped"));
+        assertSameLines(source, declarations);
+    }
+
+    @Test
+    void classLiteralIsNotADeclaration() {
+        assertEquals(SourcePrefilter.Kind.NO_CLASSES, kind(
+                "enum E {\n"
+                        + "    A;\n"
+                        + "    Class<?> type = Foo.class;\n"
+                        + "}\n"));
+        assertEquals(SourcePrefilter.Kind.DECLARATIONS_ONLY, kind(
+                "class A {\n"
+                        + "    Object m() {\n"
+                        + "        return Foo.class;\n"
+                        + "    }\n"
+                        + "}\n"));
+    }
+
+    private static SourcePrefilter.Kind kind(String source) {
+        return SourcePrefilter.scan(source.getBytes(StandardCharsets.UTF_8)).getKind();
+    }
+
+    private static String declarations(String source) {
+        SourcePrefilter prefilter = SourcePrefilter.scan(source.getBytes(StandardCharsets.UTF_8));
+        return new String(prefilter.declarationSource(), StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameLines(String expected, String actual) {
+        assertEquals(expected.split("\n", -1).length, actual.split("\n", -1).length);
+    }
+}
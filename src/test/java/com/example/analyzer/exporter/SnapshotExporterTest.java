@@ -0,0 +1,41 @@
+package com.example.analyzer.exporter;
+
+import com.example.analyzer.core.CallChainEngine;
+import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.util.IdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SnapshotExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void snapshotOfLoadedJsonLoadsBackUnchanged() throws Exception {
+        CallChainEngine engine = new CallChainEngine(1, new IdGenerator(IdGenerator.Mode.STABLE));
+        AnalysisResult analyzed = engine.analyze(Arrays.asList(
+                "test-project-complex/user-service", "test-project-complex/order-service",
+                "test-project-complex/payment-service"));
+        assertFalse(analyzed.getMethodCalls().isEmpty());
+        assertFalse(analyzed.getCallChains().isEmpty());
+
+        JsonExporter jsonExporter = new JsonExporter();
+        String jsonFile = tempDir.resolve("result.json").toString();
+        jsonExporter.export(analyzed, jsonFile);
+        AnalysisResult fromJson = jsonExporter.load(jsonFile);
+
+        SnapshotExporter snapshotExporter = new SnapshotExporter();
+        String snapshotFile = tempDir.resolve("result.snap").toString();
+        snapshotExporter.export(fromJson, snapshotFile);
+        AnalysisResult fromSnapshot = snapshotExporter.load(snapshotFile);
+
+        assertEquals(jsonExporter.exportToString(fromJson), jsonExporter.exportToString(fromSnapshot));
+    }
+}